@@ -495,7 +495,7 @@ public class ScriptLoader {
 
 		ScriptInfo scriptInfo = new ScriptInfo();
 
-		List<LoadingScriptInfo> scripts = new ArrayList<>();
+		List<LoadingScriptInfo> scripts = Collections.synchronizedList(new ArrayList<>());
 
 		List<CompletableFuture<Void>> scriptInfoFutures = new ArrayList<>();
 		for (Config config : configs) {
@@ -514,16 +514,12 @@ public class ScriptLoader {
 
 		return CompletableFuture.allOf(scriptInfoFutures.toArray(new CompletableFuture[0]))
 			.thenApply(unused -> {
-				// TODO in the future this won't work when parallel loading is fixed
-				// It does now though so let's avoid calling getParser() a bunch.
 				ParserInstance parser = getParser();
 
 				try {
 					openCloseable.open();
 
 					// build sorted list
-					// this nest of pairs is terrible, but we need to keep the reference to the modifiable structures list
-					record LoadingStructure (LoadingScriptInfo loadingScriptInfo, Structure structure) {}
 					List<LoadingStructure> loadingStructures = scripts.stream()
 							.flatMap(info -> { // Flatten each entry down to a stream of Script-Structure pairs
 								return info.structures.stream()
@@ -556,34 +552,14 @@ public class ScriptLoader {
 					});
 					parser.setInactive();
 
-					// TODO in the future, Structure#load/Structure#postLoad should be split across multiple threads if parallel loading is enabled.
-					// However, this is not possible right now as reworks in multiple areas will be needed.
-					// For example, the "Commands" class still uses a static list for currentArguments that is cleared between loads.
-					// Until these reworks happen, limiting main loading to asynchronous (not parallel) is the only choice we have.
-
 					// loading
-					loadingStructures.removeIf(loadingStructure -> {
-						LoadingScriptInfo loadingInfo = loadingStructure.loadingScriptInfo();
-						Structure structure = loadingStructure.structure();
-
-						parser.setActive(loadingInfo.script);
-						parser.setCurrentStructure(structure);
-						parser.setNode(loadingInfo.nodeMap.get(structure));
-
-						try {
-							if (!structure.load()) {
-								loadingInfo.structures.remove(structure);
-								return true;
-							}
-						} catch (Exception e) {
-							//noinspection ThrowableNotThrown
-							Skript.exception(e, "An error occurred while trying to load a Structure.");
-							loadingInfo.structures.remove(structure);
-							return true;
-						}
-						return false;
-					});
-					parser.setInactive();
+					// structures may wait on the main thread (e.g. Task#callSync), so it must never wait on them
+					if (isParallel() && !Bukkit.isPrimaryThread()) {
+						loadStructuresInParallel(loadingStructures, openCloseable);
+					} else {
+						loadingStructures.removeIf(loadingStructure -> !loadStructure(parser, loadingStructure));
+						parser.setInactive();
+					}
 
 					// post-loading
 					loadingStructures.removeIf(loadingStructure -> {
@@ -637,6 +613,113 @@ public class ScriptLoader {
 			});
 	}
 
+	// we need to keep the reference to the modifiable structures list
+	private record LoadingStructure(LoadingScriptInfo loadingScriptInfo, Structure structure) { }
+
+	/**
+	 * Runs {@link Structure#load()} for the given structure.
+	 * @param parser The parser instance of the current thread.
+	 * @param loadingStructure The structure to load.
+	 * @return Whether the structure loaded successfully. If not, it has been removed from its script.
+	 */
+	private static boolean loadStructure(ParserInstance parser, LoadingStructure loadingStructure) {
+		LoadingScriptInfo loadingInfo = loadingStructure.loadingScriptInfo();
+		Structure structure = loadingStructure.structure();
+
+		parser.setActive(loadingInfo.script);
+		parser.setCurrentStructure(structure);
+		parser.setNode(loadingInfo.nodeMap.get(structure));
+
+		try {
+			if (!structure.load()) {
+				loadingInfo.structures.remove(structure);
+				return false;
+			}
+		} catch (Exception e) {
+			//noinspection ThrowableNotThrown
+			Skript.exception(e, "An error occurred while trying to load a Structure.");
+			loadingInfo.structures.remove(structure);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Runs the {@link Structure#load()} stage of the given structures on multiple threads.
+	 * Structures of equal priority are loaded together, with all structures of one script being loaded
+	 *  in order by a single thread. A priority is only started once all structures of the previous one have loaded.
+	 * The calling thread takes part in loading, so this will not wait on an executor that is busy with other tasks.
+	 * Each thread uses its own {@link ParserInstance}, which is left inactive afterwards.
+	 * @param loadingStructures The structures to load, sorted by priority.
+	 *  Structures that fail to load are removed from this list.
+	 * @param openCloseable The {@link OpenCloseable} of the load, which is already open on the calling thread.
+	 *  It is opened and closed around the work of every other thread (see {@link #makeFuture(Supplier, OpenCloseable)}).
+	 */
+	private static void loadStructuresInParallel(List<LoadingStructure> loadingStructures, OpenCloseable openCloseable) {
+		Set<LoadingStructure> failed = ConcurrentHashMap.newKeySet();
+
+		int start = 0;
+		while (start < loadingStructures.size()) {
+			Structure first = loadingStructures.get(start).structure();
+			Map<Script, List<LoadingStructure>> scripts = new LinkedHashMap<>();
+			int end = start;
+			for (; end < loadingStructures.size(); end++) {
+				LoadingStructure loadingStructure = loadingStructures.get(end);
+				if (loadingStructure.structure().getPriority().compareTo(first.getPriority()) != 0)
+					break;
+				scripts.computeIfAbsent(loadingStructure.loadingScriptInfo().script, script -> new ArrayList<>())
+					.add(loadingStructure);
+			}
+
+			Queue<List<LoadingStructure>> queue = new ConcurrentLinkedQueue<>(scripts.values());
+			CountDownLatch remaining = new CountDownLatch(queue.size());
+			Runnable worker = () -> {
+				ParserInstance parser = getParser();
+				List<LoadingStructure> group;
+				while ((group = queue.poll()) != null) {
+					try {
+						for (LoadingStructure loadingStructure : group) {
+							if (!loadStructure(parser, loadingStructure))
+								failed.add(loadingStructure);
+						}
+					} finally {
+						parser.setInactive();
+						remaining.countDown();
+					}
+				}
+			};
+
+			int helpers = Math.min(asyncLoaderSize, queue.size()) - 1;
+			for (int i = 0; i < helpers; i++) {
+				executor.execute(() -> {
+					openCloseable.open();
+					try {
+						worker.run();
+					} finally {
+						openCloseable.close();
+					}
+				});
+			}
+			worker.run();
+
+			boolean interrupted = false;
+			while (true) {
+				try {
+					remaining.await();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			if (interrupted)
+				Thread.currentThread().interrupt();
+
+			start = end;
+		}
+
+		loadingStructures.removeIf(failed::contains);
+	}
+
 	private static class LoadingScriptInfo {
 
 		public final Script script;
@@ -5,6 +5,7 @@ import ch.njol.skript.command.CommandHelp;
 import ch.njol.skript.doc.Documentation;
 import ch.njol.skript.doc.HTMLGenerator;
 import ch.njol.skript.doc.JSONGenerator;
+import ch.njol.skript.effects.Delay;
 import ch.njol.skript.localization.ArgsMessage;
 import ch.njol.skript.localization.Language;
 import ch.njol.skript.localization.PluralizingArgsMessage;
@@ -32,6 +33,7 @@ import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.Nullable;
 import org.skriptlang.skript.addon.SkriptAddon;
+import org.skriptlang.skript.common.function.FunctionCache;
 import org.skriptlang.skript.lang.script.Script;
 
 import java.io.File;
@@ -383,6 +385,11 @@ public class SkriptCommand implements CommandExecutor {
 				if (!dependenciesFound)
 					info(sender, "info.dependencies", "None");
 
+				long hits = FunctionCache.totalHits(), misses = FunctionCache.totalMisses();
+				String hitRate = hits + misses == 0 ? "-" : Math.round(100.0 * hits / (hits + misses)) + "%";
+				info(sender, "info.function cache", hits, misses, hitRate);
+				info(sender, "info.delays", Delay.getPendingContinuations());
+
 			} else if (args[0].equalsIgnoreCase("gen-docs")) {
 				File templateDir = Documentation.getDocsTemplateDirectory();
 				File outputDir = Documentation.getDocsOutputDirectory();
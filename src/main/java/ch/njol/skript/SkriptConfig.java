@@ -26,6 +26,7 @@ import ch.njol.skript.variables.Variables;
 import co.aikar.timings.Timings;
 import org.bukkit.event.EventPriority;
 import org.jetbrains.annotations.Nullable;
+import org.skriptlang.skript.common.function.FunctionCache;
 import org.skriptlang.skript.util.event.EventRegistry;
 
 import java.io.File;
@@ -312,6 +313,14 @@ public class SkriptConfig {
 			.optional(true)
 			.setter(t -> Function.executeWithNulls = t);
 
+	public static final Option<Integer> pureFunctionCacheSize = new Option<>("pure function cache.size", 1000)
+			.optional(true)
+			.setter(size -> FunctionCache.maximumSize = size);
+
+	public static final Option<Timespan> pureFunctionCacheExpiry = new Option<>("pure function cache.expiry", new Timespan(Timespan.TimePeriod.MINUTE, 5))
+			.optional(true)
+			.setter(expiry -> FunctionCache.expiryMillis = expiry.getAs(Timespan.TimePeriod.MILLISECOND));
+
 	public final static Option<Boolean> disableHookVault = new Option<>("disable hooks.vault", false)
 		.optional(true)
 		.setter(value -> {
@@ -21,6 +21,8 @@ import org.jetbrains.annotations.Nullable;
 
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -28,7 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class SkriptEventHandler {
 
@@ -70,6 +72,23 @@ public final class SkriptEventHandler {
 	 */
 	private static final Multimap<Class<? extends Event>, Trigger> triggers = ArrayListMultimap.create();
 
+	/**
+	 * A cache of the Triggers to run for each concrete Event class, grouped by {@link EventPriority} ordinal.
+	 * Entries are computed lazily the first time an Event class is dispatched.
+	 * The whole table is replaced whenever {@link #triggers} changes, so that a computation racing with
+	 *  a modification can never store a stale entry in the current table.
+	 */
+	private static volatile Map<Class<? extends Event>, Trigger[][]> dispatchTable = new ConcurrentHashMap<>();
+
+	private static final Trigger[] NO_TRIGGERS = new Trigger[0];
+
+	/**
+	 * Discards all cached dispatch entries. Must be called whenever {@link #triggers} is modified.
+	 */
+	private static void invalidateDispatchTable() {
+		dispatchTable = new ConcurrentHashMap<>();
+	}
+
 	/**
 	 * A utility method to get all Triggers registered under the provided Event class.
 	 * @param event The event to find pairs from.
@@ -78,10 +97,45 @@ public final class SkriptEventHandler {
 	private static List<Trigger> getTriggers(Class<? extends Event> event) {
 		HandlerList eventHandlerList = getHandlerList(event);
 		assert eventHandlerList != null; // It had one at some point so this should remain true
-		return triggers.asMap().entrySet().stream()
-				.filter(entry -> entry.getKey().isAssignableFrom(event) && getHandlerList(entry.getKey()) == eventHandlerList)
-				.flatMap(entry -> entry.getValue().stream())
-				.collect(Collectors.toList()); // forces evaluation now and prevents us from having to call getTriggers again if very high logging is enabled
+		List<Trigger> eventTriggers = new ArrayList<>();
+		for (Entry<Class<? extends Event>, Collection<Trigger>> entry : triggers.asMap().entrySet()) {
+			if (entry.getKey().isAssignableFrom(event) && getHandlerList(entry.getKey()) == eventHandlerList)
+				eventTriggers.addAll(entry.getValue());
+		}
+		return eventTriggers;
+	}
+
+	/**
+	 * Obtains the Triggers to run for the provided Event class at the provided priority.
+	 * The returned array is shared and must not be modified.
+	 * @param event The event to find the Triggers of.
+	 * @param priority The priority the Triggers should be listening at.
+	 * @return The Triggers to run, in registration order.
+	 */
+	private static Trigger[] getTriggers(Class<? extends Event> event, EventPriority priority) {
+		Map<Class<? extends Event>, Trigger[][]> table = dispatchTable;
+		Trigger[][] byPriority = table.get(event);
+		if (byPriority == null) {
+			byPriority = computeDispatchEntry(event);
+			Trigger[][] existing = table.putIfAbsent(event, byPriority);
+			if (existing != null)
+				byPriority = existing;
+		}
+		return byPriority[priority.ordinal()];
+	}
+
+	private static Trigger[][] computeDispatchEntry(Class<? extends Event> event) {
+		EventPriority[] priorities = EventPriority.values();
+		List<Trigger> eventTriggers = getTriggers(event);
+
+		Trigger[][] byPriority = new Trigger[priorities.length][];
+		for (EventPriority priority : priorities) {
+			Trigger[] priorityTriggers = eventTriggers.stream()
+				.filter(trigger -> trigger.getEvent().getEventPriority() == priority)
+				.toArray(Trigger[]::new);
+			byPriority[priority.ordinal()] = priorityTriggers.length == 0 ? NO_TRIGGERS : priorityTriggers;
+		}
+		return byPriority;
 	}
 
 	/**
@@ -92,28 +146,19 @@ public final class SkriptEventHandler {
 	 * @param priority The priority of the Event.
 	 */
 	private static void check(Event event, EventPriority priority) {
-		// get all triggers for this event, return if none
-		List<Trigger> triggers = getTriggers(event.getClass());
-		if (triggers.isEmpty())
+		// get all triggers for this event at this priority, return if none
+		Trigger[] triggers = getTriggers(event.getClass(), priority);
+		if (triggers.length == 0)
 			return;
 
 		// Check if this event should be treated as cancelled
 		boolean isCancelled = isCancelled(event);
 
-		// This logs events even if there isn't a trigger that's going to run at that priority.
-		// However, there should only be a priority listener IF there's a trigger at that priority.
-		// So the time will be logged even if no triggers pass check(), which is still useful information.
 		logEventStart(event, priority);
 
 		for (Trigger trigger : triggers) {
-			SkriptEvent triggerEvent = trigger.getEvent();
-
-			// check if the trigger is at the right priority
-			if (triggerEvent.getEventPriority() != priority)
-				continue;
-
 			// check if the cancel state of the event is correct
-			if (!triggerEvent.getListeningBehavior().matches(isCancelled))
+			if (!trigger.getEvent().getListeningBehavior().matches(isCancelled))
 				continue;
 
 			// execute the trigger
@@ -284,6 +329,7 @@ public final class SkriptEventHandler {
 			return;
 
 		triggers.put(event, trigger);
+		invalidateDispatchTable();
 
 		EventPriority priority = trigger.getEvent().getEventPriority();
 
@@ -307,6 +353,7 @@ public final class SkriptEventHandler {
 
 			// Remove the trigger from the map
 			entryIterator.remove();
+			invalidateDispatchTable();
 
 			// check if we can unregister the listener
 			EventPriority priority = trigger.getEvent().getEventPriority();
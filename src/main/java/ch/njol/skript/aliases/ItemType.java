@@ -92,6 +92,11 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	 */
 	final ArrayList<ItemData> types = new ArrayList<>(2);
 
+	/**
+	 * Index of {@link #types} by material, built when it's first needed and reset whenever {@link #types} changes.
+	 */
+	private transient volatile @Nullable MaterialIndex materialIndex;
+
 	/**
 	 * Whether this ItemType represents all types or not.
 	 */
@@ -209,6 +214,7 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 		for (final ItemData d : i) {
 			types.add(d.clone());
 		}
+		materialIndex = null;
 	}
 
 	public ItemType(Block block) {
@@ -270,6 +276,8 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	public boolean isOfType(@Nullable ItemStack item) {
 		if (item == null)
 			return isOfType(Material.AIR, null);
+		if (!mayBeOfType(item.getType()))
+			return false;
 		return isOfType(new ItemData(item));
 	}
 
@@ -284,6 +292,8 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	public boolean isOfType(@Nullable BlockData blockData) {
 		if (blockData == null)
 			return isOfType(Material.AIR, null);
+		if (!mayBeOfType(blockData.getMaterial()))
+			return false;
 
 		return isOfType(new ItemData(blockData));
 	}
@@ -291,27 +301,86 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	public boolean isOfType(@Nullable Block block) {
 		if (block == null)
 			return isOfType(Material.AIR, null);
+		if (!mayBeOfType(block.getType()))
+			return false;
 		return isOfType(block.getBlockData());
 	}
 
 	public boolean isOfType(ItemData type) {
-		for (final ItemData myType : types) {
-			if (myType.equals(type)) {
-				return true;
+		MaterialIndex index = getMaterialIndex();
+		if (index.matchesAnything) {
+			for (final ItemData myType : types) {
+				if (myType.equals(type))
+					return true;
 			}
+			return false;
+		}
+		ItemData[] candidates = index.candidates.get(type.getType());
+		if (candidates == null)
+			return false;
+		for (ItemData candidate : candidates) {
+			if (candidate.equals(type))
+				return true;
 		}
 		return false;
 	}
 
 	public boolean isOfType(Material id, @Nullable String tags) {
+		if (!mayBeOfType(id))
+			return false;
 		return isOfType(new ItemData(id, tags));
 	}
 
 	public boolean isOfType(Material id) {
-		// TODO avoid object creation
+		if (!mayBeOfType(id))
+			return false;
 		return isOfType(new ItemData(id, (String) null));
 	}
 
+	/**
+	 * A quick check that rejects materials this type can't represent without creating an {@link ItemData}.
+	 * @param material The material to check.
+	 * @return False if this type can't represent the material, true if it might.
+	 */
+	private boolean mayBeOfType(Material material) {
+		MaterialIndex index = getMaterialIndex();
+		return index.matchesAnything || index.materials.get(material.ordinal());
+	}
+
+	private MaterialIndex getMaterialIndex() {
+		MaterialIndex index = materialIndex;
+		if (index == null)
+			materialIndex = index = new MaterialIndex(types);
+		return index;
+	}
+
+	/**
+	 * The materials of the {@link ItemData}s of an ItemType, with the ItemDatas that have each material.
+	 * An {@link ItemData} only equals another one if they share a material, unless one of them represents anything.
+	 */
+	private static final class MaterialIndex {
+
+		final BitSet materials = new BitSet();
+		final Map<Material, ItemData[]> candidates = new HashMap<>();
+		final boolean matchesAnything;
+
+		MaterialIndex(List<ItemData> types) {
+			boolean matchesAnything = false;
+			Map<Material, List<ItemData>> candidates = new HashMap<>();
+			for (ItemData type : types) {
+				if (type.isAnything || type.getType() == null) {
+					matchesAnything = true;
+					break;
+				}
+				materials.set(type.getType().ordinal());
+				candidates.computeIfAbsent(type.getType(), material -> new ArrayList<>(1)).add(type);
+			}
+			this.matchesAnything = matchesAnything;
+			candidates.forEach((material, list) -> this.candidates.put(material, list.toArray(new ItemData[0])));
+		}
+
+	}
+
 	/**
 	 * Checks if this type represents all the items represented by given
 	 * item type. This type may of course also represent other items.
@@ -515,18 +584,21 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 		if (type != null) {
 			types.add(type);
 			//numItems += type.numItems();
+			materialIndex = null;
 			modified();
 		}
 	}
 
 	public void addAll(Collection<ItemData> types) {
 		this.types.addAll(types);
+		materialIndex = null;
 		modified();
 	}
 
 	public void remove(ItemData type) {
 		if (types.remove(type)) {
 			//numItems -= type.numItems();
+			materialIndex = null;
 			modified();
 		}
 	}
@@ -534,6 +606,7 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	void remove(int index) {
 		types.remove(index);
 		//numItems -= type.numItems();
+		materialIndex = null;
 		modified();
 	}
 
@@ -1256,6 +1329,7 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	@Override
 	public void deserialize(final Fields fields) throws StreamCorruptedException, NotSerializableException {
 		fields.setFields(this);
+		materialIndex = null;
 
 		// Legacy data (before aliases rework) update
 		if (!types.isEmpty()) {
@@ -1268,6 +1342,7 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 					if (mat != null) {
 						ItemData data = new ItemData(mat); // Create new ItemData based on it
 						types.set(i, data); // Replace old with new
+						materialIndex = null;
 					} else {
 						throw new NotSerializableException("item with id " + old.typeid + " could not be converted to new alias system");
 					}
@@ -9,8 +9,11 @@ import org.bukkit.entity.*;
 import org.jetbrains.annotations.ApiStatus.ScheduledForRemoval;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Utility class for quick {@link Entity} methods
@@ -25,6 +28,23 @@ public class EntityUtils {
 	private static final BiMap<EntityData<?>, EntityType> SPAWNER_TYPES = HashBiMap.create();
 	private static final Map<Class<? extends Entity>, EntityType> CLASS_ENTITY_TYPE_MAP = new HashMap<>();
 
+	/**
+	 * Cache entity class -> all Bukkit EntityTypes whose entities may be instances of that class
+	 */
+	private static final ClassValue<Set<EntityType>> ENTITY_TYPES = new ClassValue<>() {
+		@Override
+		protected Set<EntityType> computeValue(Class<?> type) {
+			EnumSet<EntityType> entityTypes = EnumSet.noneOf(EntityType.class);
+			for (EntityType entityType : EntityType.values()) {
+				Class<? extends Entity> entityClass = entityType.getEntityClass();
+				// entities of a type without a class can't be ruled out
+				if (entityClass == null || type.isAssignableFrom(entityClass))
+					entityTypes.add(entityType);
+			}
+			return Collections.unmodifiableSet(entityTypes);
+		}
+	};
+
 	static {
 		for (EntityType entityType : EntityType.values()) {
 			Class<? extends Entity> entityClass = entityType.getEntityClass();
@@ -165,6 +185,30 @@ public class EntityUtils {
 		return closestEntityType;
 	}
 
+	/**
+	 * Gets all {@link EntityType}s whose entities may be instances of the given entity class.
+	 * Checking an entity's type against this set is a cheap way to rule out entities before checking them
+	 * with {@link EntityData#isInstance(Entity)}.
+	 * @param entityClass The {@link Class} extending {@link Entity}
+	 * @return An unmodifiable set of the matching {@link EntityType}s
+	 */
+	public static Set<EntityType> getEntityTypes(Class<? extends Entity> entityClass) {
+		return ENTITY_TYPES.get(entityClass);
+	}
+
+	/**
+	 * Gets all {@link EntityType}s whose entities may be instances of any of the given entity datas.
+	 * @param entityDatas Skript's EntityDatas
+	 * @return A new set of the matching {@link EntityType}s
+	 * @see #getEntityTypes(Class)
+	 */
+	public static Set<EntityType> getEntityTypes(EntityData<?>... entityDatas) {
+		EnumSet<EntityType> entityTypes = EnumSet.noneOf(EntityType.class);
+		for (EntityData<?> entityData : entityDatas)
+			entityTypes.addAll(getEntityTypes(entityData.getType()));
+		return entityTypes;
+	}
+
 	/**
 	 * Convert from Bukkit's EntityType to Skript's EntityData
 	 * @param e Bukkit's EntityType
@@ -26,6 +26,7 @@ import org.joml.Quaternionf;
 import org.joml.Vector3f;
 import org.skriptlang.skript.addon.SkriptAddon;
 import org.skriptlang.skript.common.function.DefaultFunction;
+import org.skriptlang.skript.common.function.FunctionModifier;
 import org.skriptlang.skript.common.function.Parameter.Modifier;
 
 import java.math.BigDecimal;
@@ -51,6 +52,7 @@ public class DefaultFunctions {
 		// basic math functions
 
 		Functions.register(DefaultFunction.builder(skript, "floor", Long.class)
+			.modifiers(FunctionModifier.PURE)
 			.description("Rounds a number down, i.e. returns the closest integer smaller than or equal to the argument.")
 			.examples("floor(2.34) = 2", "floor(2) = 2", "floor(2.99) = 2")
 			.since("2.2")
@@ -89,6 +91,7 @@ public class DefaultFunctions {
 			}
 		}.description("Rounds a number, i.e. returns the closest integer to the argument. Place a second argument to define the decimal placement.")
 			.examples("round(2.34) = 2", "round(2) = 2", "round(2.99) = 3", "round(2.5) = 3")
+			.modifiers(FunctionModifier.PURE)
 			.since("2.2, 2.7 (decimal placement)"));
 
 		Functions.registerFunction(new SimpleJavaFunction<Long>("ceil", numberParam, DefaultClasses.LONG, true) {
@@ -100,6 +103,7 @@ public class DefaultFunctions {
 			}
 		}.description("Rounds a number up, i.e. returns the closest integer larger than or equal to the argument.")
 			.examples("ceil(2.34) = 3", "ceil(2) = 2", "ceil(2.99) = 3")
+			.modifiers(FunctionModifier.PURE)
 			.since("2.2"));
 
 		Functions.registerFunction(new SimpleJavaFunction<Long>("ceiling", numberParam, DefaultClasses.LONG, true) {
@@ -111,6 +115,7 @@ public class DefaultFunctions {
 			}
 		}.description("Alias of <a href='#ceil'>ceil</a>.")
 			.examples("ceiling(2.34) = 3", "ceiling(2) = 2", "ceiling(2.99) = 3")
+			.modifiers(FunctionModifier.PURE)
 			.since("2.2"));
 
 		Functions.registerFunction(new SimpleJavaFunction<Number>("abs", numberParam, DefaultClasses.NUMBER, true) {
@@ -123,6 +128,7 @@ public class DefaultFunctions {
 			}
 		}.description("Returns the absolute value of the argument, i.e. makes the argument positive.")
 			.examples("abs(3) = 3", "abs(-2) = 2")
+			.modifiers(FunctionModifier.PURE)
 			.since("2.2"));
 
 		Functions.registerFunction(new SimpleJavaFunction<Number>("mod", new Parameter[] {new Parameter<>("d", DefaultClasses.NUMBER, true, null), new Parameter<>("m", DefaultClasses.NUMBER, true, null)}, DefaultClasses.NUMBER, true) {
@@ -138,6 +144,7 @@ public class DefaultFunctions {
 		}.description("Returns the modulo of the given arguments, i.e. the remainder of the division <code>d/m</code>, where d and m are the arguments of this function.",
 						"The returned value is always positive. Returns NaN (not a number) if the second argument is zero.")
 			.examples("mod(3, 2) = 1", "mod(256436, 100) = 36", "mod(-1, 10) = 9")
+			.modifiers(FunctionModifier.PURE)
 			.since("2.2"));
 
 		Functions.registerFunction(new SimpleJavaFunction<Number>("exp", numberParam, DefaultClasses.NUMBER, true) {
@@ -147,6 +154,7 @@ public class DefaultFunctions {
 			}
 		}.description("The exponential function. You probably don't need this if you don't know what this is.")
 			.examples("exp(0) = 1", "exp(1) = " + str(Math.exp(1)))
+			.modifiers(FunctionModifier.PURE)
 			.since("2.2"));
 
 		Functions.registerFunction(new SimpleJavaFunction<Number>("ln", numberParam, DefaultClasses.NUMBER, true) {
@@ -157,6 +165,7 @@ public class DefaultFunctions {
 		}.description("The natural logarithm. You probably don't need this if you don't know what this is.",
 						"Returns NaN (not a number) if the argument is negative.")
 			.examples("ln(1) = 0", "ln(exp(5)) = 5", "ln(2) = " + StringUtils.toString(Math.log(2), 4))
+			.modifiers(FunctionModifier.PURE)
 			.since("2.2"));
 
 		Functions.registerFunction(new SimpleJavaFunction<Number>("log", new Parameter[] {new Parameter<>("n", DefaultClasses.NUMBER, true, null), new Parameter<>("base", DefaultClasses.NUMBER, true, new SimpleLiteral<Number>(10, false))}, DefaultClasses.NUMBER, true) {
@@ -169,6 +178,7 @@ public class DefaultFunctions {
 						"Please note that due to how numbers are represented in computers, these equations do not hold for all numbers, as the computed values may slightly differ from the correct value.",
 						"Returns NaN (not a number) if any of the arguments are negative.")
 			.examples("log(100) = 2 # 10^2 = 100", "log(16, 2) = 4 # 2^4 = 16")
+			.modifiers(FunctionModifier.PURE)
 			.since("2.2"));
 
 		Functions.registerFunction(new SimpleJavaFunction<Number>("sqrt", numberParam, DefaultClasses.NUMBER, true) {
@@ -179,6 +189,7 @@ public class DefaultFunctions {
 		}.description("The square root, which is the inverse operation to squaring a number (for positive numbers only). This is the same as <code>(argument) ^ (1/2)</code> – other roots can be calculated via <code>number ^ (1/root)</code>, e.g. <code>set {_l} to {_volume}^(1/3)</code>.",
 						"Returns NaN (not a number) if the argument is negative.")
 			.examples("sqrt(4) = 2", "sqrt(2) = " + str(Math.sqrt(2)), "sqrt(-1) = " + str(Math.sqrt(-1)))
+			.modifiers(FunctionModifier.PURE)
 			.since("2.2"));
 
 		// trigonometry
@@ -190,6 +201,7 @@ public class DefaultFunctions {
 			}
 		}.description("The sine function. It starts at 0° with a value of 0, goes to 1 at 90°, back to 0 at 180°, to -1 at 270° and then repeats every 360°. Uses degrees, not radians.")
 			.examples("sin(90) = 1", "sin(60) = " + str(Math.sin(Math.toRadians(60))))
+			.modifiers(FunctionModifier.PURE)
 			.since("2.2"));
 
 		Functions.registerFunction(new SimpleJavaFunction<Number>("cos", numberParam, DefaultClasses.NUMBER, true) {
@@ -199,6 +211,7 @@ public class DefaultFunctions {
 			}
 		}.description("The cosine function. This is basically the <a href='#sin'>sine</a> shifted by 90°, i.e. <code>cos(a) = sin(a + 90°)</code>, for any number a. Uses degrees, not radians.")
 			.examples("cos(0) = 1", "cos(90) = 0")
+			.modifiers(FunctionModifier.PURE)
 			.since("2.2"));
 
 		Functions.registerFunction(new SimpleJavaFunction<Number>("tan", numberParam, DefaultClasses.NUMBER, true) {
@@ -208,6 +221,7 @@ public class DefaultFunctions {
 			}
 		}.description("The tangent function. This is basically <code><a href='#sin'>sin</a>(arg)/<a href='#cos'>cos</a>(arg)</code>. Uses degrees, not radians.")
 			.examples("tan(0) = 0", "tan(45) = 1", "tan(89.99) = " + str(Math.tan(Math.toRadians(89.99))))
+			.modifiers(FunctionModifier.PURE)
 			.since("2.2"));
 
 		Functions.registerFunction(new SimpleJavaFunction<Number>("asin", numberParam, DefaultClasses.NUMBER, true) {
@@ -217,6 +231,7 @@ public class DefaultFunctions {
 			}
 		}.description("The inverse of the <a href='#sin'>sine</a>, also called arcsin. Returns result in degrees, not radians. Only returns values from -90 to 90.")
 			.examples("asin(0) = 0", "asin(1) = 90", "asin(0.5) = " + str(Math.toDegrees(Math.asin(0.5))))
+			.modifiers(FunctionModifier.PURE)
 			.since("2.2"));
 
 		Functions.registerFunction(new SimpleJavaFunction<Number>("acos", numberParam, DefaultClasses.NUMBER, true) {
@@ -226,6 +241,7 @@ public class DefaultFunctions {
 			}
 		}.description("The inverse of the <a href='#cos'>cosine</a>, also called arccos. Returns result in degrees, not radians. Only returns values from 0 to 180.")
 			.examples("acos(0) = 90", "acos(1) = 0", "acos(0.5) = " + str(Math.toDegrees(Math.asin(0.5))))
+			.modifiers(FunctionModifier.PURE)
 			.since("2.2"));
 
 		Functions.registerFunction(new SimpleJavaFunction<Number>("atan", numberParam, DefaultClasses.NUMBER, true) {
@@ -235,6 +251,7 @@ public class DefaultFunctions {
 			}
 		}.description("The inverse of the <a href='#tan'>tangent</a>, also called arctan. Returns result in degrees, not radians. Only returns values from -90 to 90.")
 			.examples("atan(0) = 0", "atan(1) = 45", "atan(10000) = " + str(Math.toDegrees(Math.atan(10000))))
+			.modifiers(FunctionModifier.PURE)
 			.since("2.2"));
 
 		Functions.registerFunction(new SimpleJavaFunction<Number>("atan2", new Parameter[] {
@@ -248,6 +265,7 @@ public class DefaultFunctions {
 		}.description("Similar to <a href='#atan'>atan</a>, but requires two coordinates and returns values from -180 to 180.",
 			"The returned angle is measured counterclockwise in a standard mathematical coordinate system (x to the right, y to the top).")
 			.examples("atan2(0, 1) = 0", "atan2(10, 0) = 90", "atan2(-10, 5) = " + str(Math.toDegrees(Math.atan2(-10, 5))))
+			.modifiers(FunctionModifier.PURE)
 			.since("2.2"));
 
 		// more stuff
@@ -263,6 +281,7 @@ public class DefaultFunctions {
 			}
 		}.description("Sums a list of numbers.")
 			.examples("sum(1) = 1", "sum(2, 3, 4) = 9", "sum({some list variable::*})", "sum(2, {_v::*}, and the player's y-coordinate)")
+			.modifiers(FunctionModifier.PURE)
 			.since("2.2"));
 
 		Functions.registerFunction(new SimpleJavaFunction<Number>("product", numbersParam, DefaultClasses.NUMBER, true) {
@@ -276,6 +295,7 @@ public class DefaultFunctions {
 			}
 		}.description("Calculates the product of a list of numbers.")
 			.examples("product(1) = 1", "product(2, 3, 4) = 24", "product({some list variable::*})", "product(2, {_v::*}, and the player's y-coordinate)")
+			.modifiers(FunctionModifier.PURE)
 			.since("2.2"));
 
 		Functions.registerFunction(new SimpleJavaFunction<Number>("max", numbersParam, DefaultClasses.NUMBER, true) {
@@ -292,6 +312,7 @@ public class DefaultFunctions {
 			}
 		}.description("Returns the maximum number from a list of numbers.")
 			.examples("max(1) = 1", "max(1, 2, 3, 4) = 4", "max({some list variable::*})")
+			.modifiers(FunctionModifier.PURE)
 			.since("2.2"));
 
 		Functions.registerFunction(new SimpleJavaFunction<Number>("min", numbersParam, DefaultClasses.NUMBER, true) {
@@ -308,6 +329,7 @@ public class DefaultFunctions {
 			}
 		}.description("Returns the minimum number from a list of numbers.")
 			.examples("min(1) = 1", "min(1, 2, 3, 4) = 1", "min({some list variable::*})")
+			.modifiers(FunctionModifier.PURE)
 			.since("2.2"));
 
 		Functions.registerFunction(new SimpleJavaFunction<Number>("clamp", new Parameter[] {
@@ -354,6 +376,7 @@ public class DefaultFunctions {
 			.since("2.8.0");
 
 		Functions.register(DefaultFunction.builder(skript, "toBase", String[].class)
+			.modifiers(FunctionModifier.PURE)
 			.description("""
 				Turns a number in a string using a specific base (decimal, hexadecimal, octal).
 				For example, converting 32 to hexadecimal (base 16) would be 'toBase(32, 16)', which would return "20".
@@ -387,6 +410,7 @@ public class DefaultFunctions {
 			}));
 
 		Functions.register(DefaultFunction.builder(skript, "fromBase", Long[].class)
+			.modifiers(FunctionModifier.PURE)
 			.description("""
 				Turns a text version of a number in a specific base (decimal, hexadecimal, octal) into an actual number.
 				For example, converting "20" in hexadecimal (base 16) would be 'fromBase("20", 16)', which would return 32.
@@ -590,6 +614,7 @@ public class DefaultFunctions {
 			}
 
 		}.description("Calculates the total amount of experience needed to achieve given level from scratch in Minecraft.")
+			.modifiers(FunctionModifier.PURE)
 			.since("2.2-dev32"));
 
 		Functions.registerFunction(new SimpleJavaFunction<Color>("rgb", new Parameter[] {
@@ -696,6 +721,7 @@ public class DefaultFunctions {
 			}
 		}).description("Returns true if the input is NaN (not a number).")
 			.examples("isNaN(0) # false", "isNaN(0/0) # true", "isNaN(sqrt(-1)) # true")
+			.modifiers(FunctionModifier.PURE)
 			.since("2.8.0");
 
 		Functions.register(DefaultFunction.builder(skript, "concat", String.class)
@@ -841,6 +867,7 @@ public class DefaultFunctions {
 				"mean(0, 5, 10) = 5",
 				"mean(13, 97, 376, 709) = 298.75"
 			)
+			.modifiers(FunctionModifier.PURE)
 			.since("2.11");
 
 		Functions.registerFunction(new SimpleJavaFunction<Number>("median", new Parameter[]{
@@ -891,6 +918,7 @@ public class DefaultFunctions {
 				"median(1, 2, 3, 4, 5, 6) = 3.5",
 				"median(0, 123, 456, 789) = 289.5"
 			)
+			.modifiers(FunctionModifier.PURE)
 			.since("2.11");
 
 		Functions.registerFunction(new SimpleJavaFunction<>("factorial", new Parameter[]{
@@ -927,6 +955,7 @@ public class DefaultFunctions {
 				"factorial(5) = 5*4*3*2*1 = 120",
 				"factorial(171) = Infinity"
 			)
+			.modifiers(FunctionModifier.PURE)
 			.since("2.11");
 
 		Functions.registerFunction(new SimpleJavaFunction<Number>("root", new Parameter[]{
@@ -953,6 +982,7 @@ public class DefaultFunctions {
 				"root(4, 16) = 2",
 				"root(-4, 16) = 0.5 # same as 16^(-1/4)"
 			)
+			.modifiers(FunctionModifier.PURE)
 			.since("2.11");
 
 		Functions.registerFunction(new SimpleJavaFunction<Number>("permutations", new Parameter[]{
@@ -998,6 +1028,7 @@ public class DefaultFunctions {
 				"permutations(10, 4) = 5040",
 				"permutations(size of {some list::*}, 2)"
 			)
+			.modifiers(FunctionModifier.PURE)
 			.since("2.11");
 
 		Functions.registerFunction(new SimpleJavaFunction<Number>("combinations", new Parameter[]{
@@ -1051,6 +1082,7 @@ public class DefaultFunctions {
 				"combinations(5, 3) = 10",
 				"combinations(size of {some list::*}, 2)"
 			)
+			.modifiers(FunctionModifier.PURE)
 			.since("2.11");
 
 	}
@@ -0,0 +1,132 @@
+package ch.njol.skript.command;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptConfig;
+import ch.njol.skript.util.Date;
+import ch.njol.skript.variables.Variables;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores the last usage dates of a {@link ScriptCommand} with a cooldown.
+ * <p>
+ * Usages are kept in a concurrent map together with the {@link System#nanoTime()} their cooldown expires at,
+ * so checking a player's cooldown is a single lookup without any allocation.
+ * Expired usages are evicted periodically unless {@link SkriptConfig#keepLastUsageDates} is enabled.
+ * <p>
+ * If the command has a cooldown storage variable, usages are read from and written to the storage variables directly,
+ * so scripts can change or delete them at any time.
+ */
+final class CommandCooldowns {
+
+	private static final long SWEEP_INTERVAL = TimeUnit.SECONDS.toNanos(30);
+
+	/**
+	 * A usage. {@code lastUsage} is a timestamp in milliseconds and {@code expiry} a {@link System#nanoTime()} value.
+	 * {@link #NONE} represents an absent usage.
+	 */
+	private record Usage(long lastUsage, long expiry) {}
+
+	private static final Usage NONE = new Usage(Long.MIN_VALUE, Long.MIN_VALUE);
+
+	private final long cooldownMillis;
+	private final boolean storage;
+
+	/**
+	 * Maps player UUIDs to usages. Unused if the command has a storage variable.
+	 */
+	private final Map<UUID, Usage> usages = new ConcurrentHashMap<>();
+	private volatile long nextSweep = System.nanoTime() + SWEEP_INTERVAL;
+
+	/**
+	 * @param cooldownMillis The cooldown of the command in milliseconds.
+	 * @param storage Whether usages are keyed by and stored in storage variables instead of player UUIDs.
+	 */
+	CommandCooldowns(long cooldownMillis, boolean storage) {
+		this.cooldownMillis = cooldownMillis;
+		this.storage = storage;
+	}
+
+	/**
+	 * @param key A player's {@link UUID}, or the name of a storage variable if this command has one.
+	 * @return The last usage in milliseconds, or {@link Long#MIN_VALUE} if there is none.
+	 */
+	long getLastUsage(Object key) {
+		return get(key).lastUsage;
+	}
+
+	/**
+	 * @return The remaining cooldown in milliseconds, or 0 if the cooldown is over or there is no usage.
+	 */
+	long getRemainingMilliseconds(Object key) {
+		Usage usage = get(key);
+		if (usage == NONE)
+			return 0;
+		long remaining = usage.expiry - System.nanoTime();
+		return remaining <= 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(remaining);
+	}
+
+	/**
+	 * @return The time in milliseconds since the last usage, or 0 if there is none.
+	 */
+	long getElapsedMilliseconds(Object key) {
+		Usage usage = get(key);
+		return usage == NONE ? 0 : System.currentTimeMillis() - usage.lastUsage;
+	}
+
+	void setLastUsage(Object key, @Nullable Date date) {
+		if (storage) {
+			Variables.setVariable((String) key, date, null, false);
+			return;
+		}
+		sweep();
+		if (date == null) {
+			usages.remove((UUID) key);
+		} else {
+			usages.put((UUID) key, toUsage(date));
+		}
+	}
+
+	private Usage get(Object key) {
+		if (storage)
+			return load((String) key);
+		Usage usage = usages.get((UUID) key);
+		return usage != null ? usage : NONE;
+	}
+
+	private Usage load(String name) {
+		Object variable = Variables.getVariable(name, null, false);
+		if (variable == null)
+			return NONE;
+		if (!(variable instanceof Date date)) {
+			Skript.warning("Variable {" + name + "} was not a date! You may be using this variable elsewhere. " +
+					"This warning is letting you know that this variable is now overridden for the command storage.");
+			return NONE;
+		}
+		return toUsage(date);
+	}
+
+	private Usage toUsage(Date date) {
+		long lastUsage = date.getTime();
+		long elapsed = System.currentTimeMillis() - lastUsage;
+		return new Usage(lastUsage, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(cooldownMillis - elapsed));
+	}
+
+	/**
+	 * Evicts expired usages if the last eviction was long enough ago.
+	 */
+	private void sweep() {
+		long now = System.nanoTime();
+		if (now - nextSweep < 0)
+			return;
+		nextSweep = now + SWEEP_INTERVAL;
+		if (SkriptConfig.keepLastUsageDates.value())
+			return;
+		usages.values().removeIf(usage -> usage.expiry - now <= 0);
+	}
+
+}
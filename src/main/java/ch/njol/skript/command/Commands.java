@@ -35,11 +35,11 @@ import org.skriptlang.skript.lang.script.Script;
 import java.io.File;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.regex.Pattern;
@@ -61,7 +61,7 @@ public abstract class Commands {
 	 */
 	public static final int CONVERTER_NO_COMMAND_ARGUMENTS = 8;
 
-	private final static Map<String, ScriptCommand> commands = new HashMap<>();
+	private final static Map<String, ScriptCommand> commands = new ConcurrentHashMap<>();
 
 	@Nullable
 	private static SimpleCommandMap commandMap = null;
@@ -109,8 +109,40 @@ public abstract class Commands {
 		}
 	}
 
-	@Nullable
-	public static List<Argument<?>> currentArguments = null;
+	/**
+	 * The arguments that were last set through {@link #setCurrentArguments(List)} on any thread.
+	 * @deprecated Scripts may be loaded in parallel, so these may belong to another thread's command.
+	 * They are only kept up to date for compatibility, and changing them has no effect.
+	 * Use {@link #getCurrentArguments()} and {@link #setCurrentArguments(List)} instead.
+	 */
+	@Deprecated(since = "2.15", forRemoval = true)
+	public static @Nullable List<Argument<?>> currentArguments = null;
+
+	/**
+	 * The arguments of the command that is being parsed on the current thread.
+	 * This is thread-local as scripts may be loaded in parallel.
+	 */
+	private static final ThreadLocal<List<Argument<?>>> localArguments = new ThreadLocal<>();
+
+	/**
+	 * @return The arguments of the command that is currently being parsed on this thread, or null if no command is being parsed.
+	 */
+	public static @Nullable List<Argument<?>> getCurrentArguments() {
+		return localArguments.get();
+	}
+
+	/**
+	 * Sets the arguments of the command that is currently being parsed on this thread.
+	 * @param arguments The arguments, or null once the command has been parsed.
+	 */
+	public static void setCurrentArguments(@Nullable List<Argument<?>> arguments) {
+		if (arguments == null) {
+			localArguments.remove();
+		} else {
+			localArguments.set(arguments);
+		}
+		currentArguments = arguments;
+	}
 
 	@SuppressWarnings("null")
 	private final static Pattern escape = Pattern.compile("[" + Pattern.quote("(|)<>%\\") + "]");
@@ -230,25 +262,28 @@ public abstract class Commands {
 	}
 
 	public static void registerCommand(ScriptCommand command) {
-		// Validate that there are no duplicates
-		ScriptCommand existingCommand = commands.get(command.getLabel());
-		if (existingCommand != null && existingCommand.getLabel().equals(command.getLabel())) {
-			Script script = existingCommand.getScript();
-			Skript.error("A command with the name /" + existingCommand.getName() + " is already defined"
-				+ (script != null ? (" in " + script.getConfig().getFileName()) : "")
-			);
-			return;
-		}
+		// commands may be registered by multiple script loader threads at once
+		synchronized (commands) {
+			// Validate that there are no duplicates
+			ScriptCommand existingCommand = commands.get(command.getLabel());
+			if (existingCommand != null && existingCommand.getLabel().equals(command.getLabel())) {
+				Script script = existingCommand.getScript();
+				Skript.error("A command with the name /" + existingCommand.getName() + " is already defined"
+					+ (script != null ? (" in " + script.getConfig().getFileName()) : "")
+				);
+				return;
+			}
 
-		if (commandMap != null) {
-			assert cmKnownCommands != null;// && cmAliases != null;
-			command.register(commandMap, cmKnownCommands, cmAliases);
-		}
-		commands.put(command.getLabel(), command);
-		for (String alias : command.getActiveAliases()) {
-			commands.put(alias.toLowerCase(Locale.ENGLISH), command);
+			if (commandMap != null) {
+				assert cmKnownCommands != null;// && cmAliases != null;
+				command.register(commandMap, cmKnownCommands, cmAliases);
+			}
+			commands.put(command.getLabel(), command);
+			for (String alias : command.getActiveAliases()) {
+				commands.put(alias.toLowerCase(Locale.ENGLISH), command);
+			}
+			command.registerHelp();
 		}
-		command.registerHelp();
 	}
 
 	@Deprecated(since = "2.7.0", forRemoval = true)
@@ -264,12 +299,14 @@ public abstract class Commands {
 	}
 
 	public static void unregisterCommand(ScriptCommand scriptCommand) {
-		scriptCommand.unregisterHelp();
-		if (commandMap != null) {
-			assert cmKnownCommands != null;// && cmAliases != null;
-			scriptCommand.unregister(commandMap, cmKnownCommands, cmAliases);
+		synchronized (commands) {
+			scriptCommand.unregisterHelp();
+			if (commandMap != null) {
+				assert cmKnownCommands != null;// && cmAliases != null;
+				scriptCommand.unregister(commandMap, cmKnownCommands, cmAliases);
+			}
+			commands.values().removeIf(command -> command == scriptCommand);
 		}
-		commands.values().removeIf(command -> command == scriptCommand);
 	}
 
 	private static boolean registeredListeners = false;
@@ -59,7 +59,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 
@@ -98,7 +97,7 @@ public class ScriptCommand implements TabExecutor {
 
 	private transient PluginCommand bukkitCommand;
 
-	private Map<UUID,Date> lastUsageMap = new HashMap<>();
+	private final CommandCooldowns cooldowns;
 
 	//<editor-fold default-state="collapsed" desc="public ScriptCommand(... String usage ...)">
 	/**
@@ -193,6 +192,7 @@ public class ScriptCommand implements TabExecutor {
 				: cooldownMessage;
 		this.cooldownBypass = cooldownBypass;
 		this.cooldownStorage = cooldownStorage;
+		this.cooldowns = new CommandCooldowns(cooldown == null ? 0 : cooldown.getAs(Timespan.TimePeriod.MILLISECOND), cooldownStorage != null);
 
 		// remove aliases that are the same as the command
 		aliases.removeIf(label::equalsIgnoreCase);
@@ -287,10 +287,11 @@ public class ScriptCommand implements TabExecutor {
 					break cooldownCheck;
 				}
 
-				if (getLastUsage(uuid, event) != null) {
-					if (getRemainingMilliseconds(uuid, event) <= 0) {
+				Object key = getCooldownKey(uuid, event);
+				if (key != null && cooldowns.getLastUsage(key) != Long.MIN_VALUE) {
+					if (cooldowns.getRemainingMilliseconds(key) <= 0) {
 						if (!SkriptConfig.keepLastUsageDates.value())
-							setLastUsage(uuid, event, null);
+							cooldowns.setLastUsage(key, null);
 					} else {
 						String msg = cooldownMessage.getSingle(event);
 						if (msg != null)
@@ -303,19 +304,22 @@ public class ScriptCommand implements TabExecutor {
 
 		Runnable runnable = () -> {
 			// save previous last usage date to check if the execution has set the last usage date
-			Date previousLastUsage = null;
-			if (sender instanceof Player)
-				previousLastUsage = getLastUsage(((Player) sender).getUniqueId(), event);
+			long previousLastUsage = Long.MIN_VALUE;
+			if (sender instanceof Player) {
+				Object key = getCooldownKey(((Player) sender).getUniqueId(), event);
+				if (key != null)
+					previousLastUsage = cooldowns.getLastUsage(key);
+			}
 
 			// execute the command - may modify the last usage date
 			execute2(event, sender, commandLabel, rest);
 
 			if (sender instanceof Player && !event.isCooldownCancelled()) {
-				Date lastUsage = getLastUsage(((Player) sender).getUniqueId(), event);
+				Object key = getCooldownKey(((Player) sender).getUniqueId(), event);
 				// check if the execution has set the last usage date
 				// if not, set it to the current date. if it has, we leave it alone so as not to affect the remaining/elapsed time (#5862)
-				if (Objects.equals(lastUsage, previousLastUsage))
-					setLastUsage(((Player) sender).getUniqueId(), event, new Date());
+				if (key != null && cooldowns.getLastUsage(key) == previousLastUsage)
+					cooldowns.setLastUsage(key, new Date());
 			}
 		};
 		if (Bukkit.isPrimaryThread()) {
@@ -525,48 +529,34 @@ public class ScriptCommand implements TabExecutor {
 		return variableString;
 	}
 
+	/**
+	 * @return The key of the given player's usages in {@link #cooldowns},
+	 * which is the name of the storage variable if this command has one.
+	 */
+	@Nullable
+	private Object getCooldownKey(UUID uuid, Event event) {
+		return cooldownStorage == null ? uuid : getStorageVariableName(event);
+	}
+
 	@Nullable
 	public Date getLastUsage(UUID uuid, Event event) {
-		if (cooldownStorage == null) {
-			return lastUsageMap.get(uuid);
-		} else {
-			String name = getStorageVariableName(event);
-			assert name != null;
-			Object variable = Variables.getVariable(name, null, false);
-			if (variable != null && !(variable instanceof Date)) {
-				Skript.warning("Variable {" + name + "} was not a date! You may be using this variable elsewhere. " +
-						"This warning is letting you know that this variable is now overridden for the command storage.");
-				return null;
-			}
-			return (Date) variable;
-		}
+		Object key = getCooldownKey(uuid, event);
+		if (key == null)
+			return null;
+		long lastUsage = cooldowns.getLastUsage(key);
+		return lastUsage == Long.MIN_VALUE ? null : new Date(lastUsage);
 	}
 
 	public void setLastUsage(UUID uuid, Event event, @Nullable Date date) {
-		if (cooldownStorage != null) {
-			// Using a variable
-			String name = getStorageVariableName(event);
-			assert name != null;
-			Variables.setVariable(name, date, null, false);
-		} else {
-			// Use the map
-			if (date == null)
-				lastUsageMap.remove(uuid);
-			else
-				lastUsageMap.put(uuid, date);
-		}
+		Object key = getCooldownKey(uuid, event);
+		if (key != null)
+			cooldowns.setLastUsage(key, date);
 	}
 
 	public long getRemainingMilliseconds(UUID uuid, Event event) {
-		Date lastUsage = getLastUsage(uuid, event);
-		if (lastUsage == null)
-			return 0;
-		Timespan cooldown = this.cooldown;
 		assert cooldown != null;
-		long remaining = cooldown.getAs(Timespan.TimePeriod.MILLISECOND) - getElapsedMilliseconds(uuid, event);
-		if (remaining < 0)
-			remaining = 0;
-		return remaining;
+		Object key = getCooldownKey(uuid, event);
+		return key == null ? 0 : cooldowns.getRemainingMilliseconds(key);
 	}
 
 	public void setRemainingMilliseconds(UUID uuid, Event event, long milliseconds) {
@@ -579,8 +569,8 @@ public class ScriptCommand implements TabExecutor {
 	}
 
 	public long getElapsedMilliseconds(UUID uuid, Event event) {
-		Date lastUsage = getLastUsage(uuid, event);
-		return lastUsage == null ? 0 : Date.now().getTime() - lastUsage.getTime();
+		Object key = getCooldownKey(uuid, event);
+		return key == null ? 0 : cooldowns.getElapsedMilliseconds(key);
 	}
 
 	public void setElapsedMilliSeconds(UUID uuid, Event event, long milliseconds) {
@@ -13,15 +13,15 @@ import ch.njol.skript.lang.Trigger;
 import ch.njol.skript.lang.TriggerItem;
 import ch.njol.skript.timings.SkriptTimings;
 import ch.njol.skript.util.Timespan;
+import ch.njol.skript.util.TimerWheel;
 import ch.njol.skript.variables.Variables;
 import ch.njol.util.Kleenean;
-import org.bukkit.Bukkit;
+import com.google.common.collect.MapMaker;
 import org.bukkit.event.Event;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 @Name("Delay")
 @Description("Delays the script's execution by a given timespan. Please note that delays are not persistent, e.g. trying to create a tempban script with <code>ban player → wait 7 days → unban player</code> will not work if you restart your server anytime within these 7 days. You also have to be careful even when using small delays!")
@@ -74,7 +74,7 @@ public class Delay extends Effect {
 			// Back up local variables
 			Object localVars = Variables.removeLocals(event);
 			
-			Bukkit.getScheduler().scheduleSyncDelayedTask(Skript.getInstance(), () -> {
+			WHEEL.schedule(() -> {
 				addDelayedEvent(event);
 				Skript.debug(getIndentation() + "... continuing after " + (System.nanoTime() - start) / 1_000_000_000. + "s");
 
@@ -93,7 +93,7 @@ public class Delay extends Effect {
 				Variables.removeLocals(event); // Clean up local vars, we may be exiting now
 
 				SkriptTimings.stop(timing); // Stop timing if it was even started
-			}, Math.max(duration.getAs(Timespan.TimePeriod.TICK), 1)); // Minimum delay is one tick, less than it is useless!
+			}, duration.getAs(Timespan.TimePeriod.TICK)); // Minimum delay is one tick, less than it is useless!
 		}
 		return null;
 	}
@@ -108,8 +108,15 @@ public class Delay extends Effect {
 		return "wait for " + duration.toString(event, debug) + (event == null ? "" : "...");
 	}
 
-	private static final Set<Event> DELAYED =
-		Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+	/**
+	 * Runs the continuations of all delays. Continuations due in the same tick are run by a single scheduler task.
+	 */
+	static final TimerWheel WHEEL = new TimerWheel();
+
+	/**
+	 * Events whose execution has been delayed. Events are compared by identity and are not kept from being collected.
+	 */
+	private static final Set<Event> DELAYED = Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
 
 	/**
 	 * The main method for checking if the execution of {@link TriggerItem}s has been delayed.
@@ -128,4 +135,11 @@ public class Delay extends Effect {
 		DELAYED.add(event);
 	}
 
+	/**
+	 * @return The amount of delayed trigger executions that are waiting to be continued.
+	 */
+	public static long getPendingContinuations() {
+		return WHEEL.getPendingCount();
+	}
+
 }
@@ -16,6 +16,7 @@ import ch.njol.skript.util.LiteralUtils;
 import ch.njol.skript.util.SkriptColor;
 import ch.njol.skript.util.Utils;
 import ch.njol.skript.util.chat.BungeeConverter;
+import ch.njol.skript.util.chat.ChatBroadcaster;
 import ch.njol.skript.util.chat.ChatMessages;
 import ch.njol.skript.util.chat.MessageComponent;
 import ch.njol.util.Kleenean;
@@ -25,6 +26,7 @@ import net.md_5.bungee.api.chat.BaseComponent;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 import org.bukkit.event.server.BroadcastMessageEvent;
 import org.jetbrains.annotations.Nullable;
@@ -68,35 +70,47 @@ public class EffBroadcast extends Effect {
 	@Override
 	@SuppressWarnings("deprecation")
 	public void execute(Event event) {
-		List<CommandSender> receivers = new ArrayList<>();
+		List<CommandSender> receivers = new ArrayList<>(Bukkit.getOnlinePlayers().size() + 1);
 		if (worlds == null) {
 			receivers.addAll(Bukkit.getOnlinePlayers());
 			receivers.add(Bukkit.getConsoleSender());
 		} else {
-			for (World world : worlds.getArray(event))
-				receivers.addAll(world.getPlayers());
+			// filter the online players instead of copying the player list of every world
+			Set<World> targetWorlds = Set.copyOf(Arrays.asList(worlds.getArray(event)));
+			for (Player player : Bukkit.getOnlinePlayers()) {
+				if (targetWorlds.contains(player.getWorld()))
+					receivers.add(player);
+			}
 		}
+		// the same recipients are passed to the event of every message
+		Set<CommandSender> recipients = Set.copyOf(receivers);
 
 		for (Expression<?> message : getMessages()) {
-			if (message instanceof VariableString variableString) {
+			if (message instanceof VariableString variableString && variableString.isSimple()) {
+				// constant strings are parsed and converted only once
+				if (!dispatchEvent(variableString.toUnformattedString(event), recipients))
+					continue;
+				BaseComponent[] components = variableString.getBungeeComponents(event);
+				ChatBroadcaster.send(receivers, components);
+			} else if (message instanceof VariableString variableString) {
 				// get both unformatted and components with single evaluation: https://github.com/SkriptLang/Skript/issues/7718
 				StringBuilder unformattedString = new StringBuilder();
 				List<MessageComponent> messageComponents = variableString.getMessageComponents(event, unformattedString);
-				if (!dispatchEvent(unformattedString.toString(), receivers))
+				if (!dispatchEvent(unformattedString.toString(), recipients))
 					continue;
 				BaseComponent[] components = BungeeConverter.convert(messageComponents);
-				receivers.forEach(receiver -> receiver.spigot().sendMessage(components));
+				ChatBroadcaster.send(receivers, components);
 			} else if (message instanceof ExprColoured coloured && coloured.isUnsafeFormat()) { // Manually marked as trusted
 				for (Object realMessage : message.getArray(event)) {
-					if (!dispatchEvent(Utils.replaceChatStyles((String) realMessage), receivers))
+					if (!dispatchEvent(Utils.replaceChatStyles((String) realMessage), recipients))
 						continue;
 					BaseComponent[] components = BungeeConverter.convert(ChatMessages.parse((String) realMessage));
-					receivers.forEach(receiver -> receiver.spigot().sendMessage(components));
+					ChatBroadcaster.send(receivers, components);
 				}
 			} else {
 				for (Object messageObject : message.getArray(event)) {
 					String realMessage = messageObject instanceof String string ? string : Classes.toString(messageObject);
-					if (!dispatchEvent(Utils.replaceChatStyles(realMessage), receivers))
+					if (!dispatchEvent(Utils.replaceChatStyles(realMessage), recipients))
 						continue;
 					receivers.forEach(receiver -> receiver.sendMessage(realMessage));
 				}
@@ -119,11 +133,11 @@ public class EffBroadcast extends Effect {
 	/**
 	 * Manually calls a {@link BroadcastMessageEvent}.
 	 * @param message the message
+	 * @param recipients the recipients of the message
 	 * @return true if the dispatched event does not get cancelled
 	 */
 	@SuppressWarnings("removal")
-	private static boolean dispatchEvent(String message, List<CommandSender> receivers) {
-		Set<CommandSender> recipients = Set.copyOf(receivers);
+	private static boolean dispatchEvent(String message, Set<CommandSender> recipients) {
 		BroadcastMessageEvent broadcastEvent;
 		if (Skript.isRunningMinecraft(1, 14)) {
 			broadcastEvent = new BroadcastMessageEvent(!Bukkit.isPrimaryThread(), message, recipients);
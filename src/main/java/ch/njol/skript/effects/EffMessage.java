@@ -11,6 +11,7 @@ import ch.njol.skript.lang.VariableString;
 import ch.njol.skript.registrations.Classes;
 import ch.njol.skript.util.LiteralUtils;
 import ch.njol.skript.util.chat.BungeeConverter;
+import ch.njol.skript.util.chat.ChatBroadcaster;
 import ch.njol.skript.util.chat.ChatMessages;
 import ch.njol.skript.util.chat.MessageComponent;
 import ch.njol.util.Kleenean;
@@ -21,6 +22,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -86,12 +88,14 @@ public class EffMessage extends Effect {
 		for (Expression<?> message : getMessages()) {
 
 			Object[] messageArray = null;
-			List<MessageComponent> messageComponents = null;
+			BaseComponent[] messageComponents = null;
+			// players the components are sent to at once after the loop
+			List<Player> players = null;
 
 			for (CommandSender receiver : commandSenders) {
 				if (receiver instanceof Player && message instanceof VariableString) {
 					if (messageComponents == null)
-						messageComponents = ((VariableString) message).getMessageComponents(e);
+						messageComponents = ((VariableString) message).getBungeeComponents(e);
 				} else {
 					if (messageArray == null)
 						messageArray = message.getArray(e);
@@ -99,9 +103,13 @@ public class EffMessage extends Effect {
 
 				if (receiver instanceof Player) { // Can use JSON formatting
 					if (message instanceof VariableString) { // Process formatting that is safe
-						sendMessage((Player) receiver, sender,
-							BungeeConverter.convert(messageComponents)
-						);
+						if (sender == null) {
+							if (players == null)
+								players = new ArrayList<>(commandSenders.length);
+							players.add((Player) receiver);
+						} else {
+							sendMessage((Player) receiver, sender, messageComponents);
+						}
 					} else if (message instanceof ExprColoured && ((ExprColoured) message).isUnsafeFormat()) { // Manually marked as trusted
 						for (Object object : messageArray) {
 							sendMessage((Player) receiver, sender, BungeeConverter.convert(ChatMessages.parse((String) object)));
@@ -118,6 +126,8 @@ public class EffMessage extends Effect {
 					}
 				}
 			}
+			if (players != null)
+				ChatBroadcaster.send(players, messageComponents);
 		}
 	}
 	
@@ -96,7 +96,7 @@ public class ExprArgument extends SimpleExpression<Object> implements EventRestr
 			return false;
 		}
 
-		List<Argument<?>> currentArguments = Commands.currentArguments;
+		List<Argument<?>> currentArguments = Commands.getCurrentArguments();
 		if (scriptCommand && (currentArguments == null || currentArguments.isEmpty())) {
 			Skript.error("This command doesn't have any arguments", ErrorQuality.SEMANTIC_ERROR);
 			return false;
@@ -1,6 +1,7 @@
 package ch.njol.skript.expressions;
 
 import ch.njol.skript.Skript;
+import ch.njol.skript.bukkitutil.EntityUtils;
 import ch.njol.skript.doc.Description;
 import ch.njol.skript.doc.Example;
 import ch.njol.skript.doc.Name;
@@ -15,11 +16,11 @@ import ch.njol.skript.log.BlockingLogHandler;
 import ch.njol.skript.log.LogHandler;
 import ch.njol.util.Kleenean;
 import ch.njol.util.StringUtils;
-import ch.njol.util.coll.iterator.CheckedIterator;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
 import org.bukkit.event.Event;
 import org.bukkit.util.BoundingBox;
 import org.jetbrains.annotations.Nullable;
@@ -170,18 +171,14 @@ public class ExprEntities extends SimpleExpression<Entity> {
 			if (location.getWorld() == null) // safety
 				return null;
 
-			Collection<Entity> nearbyEntities = location.getWorld().getNearbyEntities(location, rad, rad, rad);
 			double radiusSquared = rad * rad * Skript.EPSILON_MULT;
 			EntityData<?>[] entityTypes = types.getAll(event);
-			return new CheckedIterator<>(nearbyEntities.iterator(), entity -> {
-					if (entity == null || entity.getLocation().distanceSquared(location) > radiusSquared)
-						return false;
-					for (EntityData<?> entityType : entityTypes) {
-						if (entityType.isInstance(entity))
-							return true;
-					}
-					return false;
-				});
+			Set<EntityType> bukkitTypes = EntityUtils.getEntityTypes(entityTypes);
+			// filter while collecting, so entities that don't match are never copied into the result
+			return location.getWorld().getNearbyEntities(location, rad, rad, rad, entity ->
+					entity.getLocation().distanceSquared(location) <= radiusSquared
+						&& isInstance(entity, bukkitTypes, entityTypes)
+				).iterator();
 		} else if (isUsingCuboid) {
 			Location corner1 = from.getSingle(event);
 			if (corner1 == null)
@@ -195,21 +192,27 @@ public class ExprEntities extends SimpleExpression<Entity> {
 				world = corner2.getWorld();
 			if (world == null)
 				return null;
-			Collection<Entity> entities = corner1.getWorld().getNearbyEntities(BoundingBox.of(corner1, corner2));
-			return new CheckedIterator<>(entities.iterator(), entity -> {
-				if (entity == null)
-					return false;
-				for (EntityData<?> entityType : entityTypes) {
-					if (entityType.isInstance(entity))
-						return true;
-				}
-				return false;
-			});
+			Set<EntityType> bukkitTypes = EntityUtils.getEntityTypes(entityTypes);
+			return world.getNearbyEntities(BoundingBox.of(corner1, corner2), entity -> isInstance(entity, bukkitTypes, entityTypes)).iterator();
 		} else {
 			return super.iterator(event);
 		}
 	}
 
+	/**
+	 * Checks whether the entity is of any of the given types.
+	 * Its {@link EntityType} is checked first, as that rules out most entities cheaply.
+	 */
+	private static boolean isInstance(Entity entity, Set<EntityType> bukkitTypes, EntityData<?>[] entityTypes) {
+		if (!bukkitTypes.contains(entity.getType()))
+			return false;
+		for (EntityData<?> entityType : entityTypes) {
+			if (entityType.isInstance(entity))
+				return true;
+		}
+		return false;
+	}
+
 	@Override
 	public boolean isSingle() {
 		return false;
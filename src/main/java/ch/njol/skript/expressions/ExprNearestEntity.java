@@ -1,6 +1,7 @@
 package ch.njol.skript.expressions;
 
 import ch.njol.skript.Skript;
+import ch.njol.skript.bukkitutil.EntityUtils;
 import ch.njol.skript.doc.Description;
 import ch.njol.skript.doc.Example;
 import ch.njol.skript.doc.Name;
@@ -14,13 +15,20 @@ import ch.njol.skript.util.Utils;
 import ch.njol.util.Kleenean;
 import ch.njol.util.StringUtils;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
 import ch.njol.skript.lang.util.SimpleExpression;
 import org.bukkit.event.Event;
+import org.bukkit.util.BoundingBox;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Array;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
 
 @Name("Nearest Entity")
 @Description("Gets the entity nearest to a location or another entity.")
@@ -40,9 +48,33 @@ public class ExprNearestEntity extends SimpleExpression<Entity> {
 				"[the] %*entitydatas% (nearest|closest) [to %entity/location%]");
 	}
 
+	/**
+	 * The amount of chunk rings around the relative point that are searched for the nearest entity
+	 * before falling back to searching the whole world.
+	 */
+	private static final int MAX_CHUNK_RINGS = 8;
+
+	/**
+	 * The amount of chunk rings without any matching entity after which the ring search gives up,
+	 * as the nearest entity is then likely far away or doesn't exist at all.
+	 */
+	private static final int MAX_EMPTY_CHUNK_RINGS = 3;
+
+	/**
+	 * The vertical extent of the boxes searched around the relative point,
+	 * which includes entities above and below the world's build limits.
+	 */
+	private static final double MAX_Y = 30_000_000;
+
 	@SuppressWarnings("NotNullFieldNotInitialized")
 	private EntityData<?>[] entityDatas;
 
+	/**
+	 * The entity types that may match each entity data, see {@link EntityUtils#getEntityTypes(Class)}.
+	 */
+	@SuppressWarnings("NotNullFieldNotInitialized")
+	private List<Set<EntityType>> entityTypes;
+
 	@SuppressWarnings("NotNullFieldNotInitialized")
 	private Expression<?> relativeTo;
 
@@ -54,6 +86,9 @@ public class ExprNearestEntity extends SimpleExpression<Entity> {
 			Skript.error("Entity list may not contain duplicate entities");
 			return false;
 		}
+		entityTypes = new ArrayList<>(entityDatas.length);
+		for (EntityData<?> entityData : entityDatas)
+			entityTypes.add(EntityUtils.getEntityTypes(entityData.getType()));
 		relativeTo = exprs[1];
 		return true;
 	}
@@ -66,9 +101,9 @@ public class ExprNearestEntity extends SimpleExpression<Entity> {
 		Entity[] nearestEntities = (Entity[]) Array.newInstance(this.getReturnType(), entityDatas.length);
 		for (int i = 0; i < nearestEntities.length; i++) {
 			if (relativeTo instanceof Entity) {
-				nearestEntities[i] = getNearestEntity(entityDatas[i], ((Entity) relativeTo).getLocation(), (Entity) relativeTo);
+				nearestEntities[i] = getNearestEntity(entityDatas[i], entityTypes.get(i), ((Entity) relativeTo).getLocation(), (Entity) relativeTo);
 			} else {
-				nearestEntities[i] = getNearestEntity(entityDatas[i], (Location) relativeTo, null);
+				nearestEntities[i] = getNearestEntity(entityDatas[i], entityTypes.get(i), (Location) relativeTo, null);
 			}
 		}
 		return nearestEntities;
@@ -97,14 +132,63 @@ public class ExprNearestEntity extends SimpleExpression<Entity> {
 		return "nearest " + StringUtils.join(entityDatas) + " relative to " + relativeTo.toString(event, debug);
 	}
 
+	/**
+	 * Searches the loaded entities around the relative point in rings of chunks, until an entity is found that is closer
+	 * than any entity in the chunks that weren't searched yet could be. Only if there is no such entity nearby,
+	 * the whole world is searched. The world is also searched right away if the first few rings have no matching
+	 * entity at all, or if the nearest entity found so far can only be proven nearest beyond the last ring.
+	 */
 	@Nullable
-	private Entity getNearestEntity(EntityData<?> entityData, Location relativePoint, @Nullable Entity excludedEntity) {
+	private Entity getNearestEntity(EntityData<?> entityData, Set<EntityType> entityTypes, Location relativePoint, @Nullable Entity excludedEntity) {
+		World world = relativePoint.getWorld();
+		int centerX = relativePoint.getBlockX() >> 4;
+		int centerZ = relativePoint.getBlockZ() >> 4;
+		Predicate<Entity> filter = entity -> entity != excludedEntity
+			&& entityTypes.contains(entity.getType()) && entityData.isInstance(entity);
 		Entity nearestEntity = null;
-		double nearestDistance = -1;
-		for (Entity entity : relativePoint.getWorld().getEntitiesByClass(entityData.getType())) {
-			if (entity != excludedEntity && entityData.isInstance(entity)) {
-				double distance = entity.getLocation().distance(relativePoint);
-				if (nearestEntity == null || distance < nearestDistance) {
+		double nearestDistance = Double.MAX_VALUE;
+		for (int ring = 0; ring <= MAX_CHUNK_RINGS; ring++) {
+			double minX = (centerX - ring) << 4, maxX = (centerX + ring + 1) << 4;
+			double minZ = (centerZ - ring) << 4, maxZ = (centerZ + ring + 1) << 4;
+			BoundingBox[] boxes;
+			if (ring == 0) {
+				boxes = new BoundingBox[] {new BoundingBox(minX, -MAX_Y, minZ, maxX, MAX_Y, maxZ)};
+			} else {
+				// only the edges of the ring, its inside has been searched already
+				boxes = new BoundingBox[] {
+					new BoundingBox(minX, -MAX_Y, minZ, minX + 16, MAX_Y, maxZ),
+					new BoundingBox(maxX - 16, -MAX_Y, minZ, maxX, MAX_Y, maxZ),
+					new BoundingBox(minX + 16, -MAX_Y, minZ, maxX - 16, MAX_Y, minZ + 16),
+					new BoundingBox(minX + 16, -MAX_Y, maxZ - 16, maxX - 16, MAX_Y, maxZ)
+				};
+			}
+			for (BoundingBox box : boxes) {
+				for (Entity entity : world.getNearbyEntities(box, filter)) {
+					double distance = entity.getLocation().distanceSquared(relativePoint);
+					if (distance < nearestDistance) {
+						nearestDistance = distance;
+						nearestEntity = entity;
+					}
+				}
+			}
+			if (nearestEntity == null) {
+				if (ring + 1 >= MAX_EMPTY_CHUNK_RINGS)
+					break;
+				continue;
+			}
+			// any entity outside the searched rings is at least this many blocks away
+			double searchedDistance = ring * 16.0;
+			if (nearestDistance <= searchedDistance * searchedDistance)
+				return nearestEntity;
+			// the rings that would be needed to rule out closer entities go beyond the last ring
+			if (nearestDistance > MAX_CHUNK_RINGS * 16.0 * MAX_CHUNK_RINGS * 16.0)
+				break;
+		}
+
+		for (Entity entity : world.getEntitiesByClass(entityData.getType())) {
+			if (filter.test(entity)) {
+				double distance = entity.getLocation().distanceSquared(relativePoint);
+				if (distance < nearestDistance) {
 					nearestDistance = distance;
 					nearestEntity = entity;
 				}
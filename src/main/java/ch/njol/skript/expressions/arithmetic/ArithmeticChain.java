@@ -112,6 +112,25 @@ public class ArithmeticChain<L, R, T> implements ArithmeticGettable<T> {
 		return returnType;
 	}
 
+	ArithmeticGettable<L> getLeft() {
+		return left;
+	}
+
+	ArithmeticGettable<R> getRight() {
+		return right;
+	}
+
+	Operator getOperator() {
+		return operator;
+	}
+
+	/**
+	 * @return the operation determined while parsing, or null if it is looked up for every evaluation.
+	 */
+	@Nullable OperationInfo<? extends L, ? extends R, ? extends T> getOperationInfo() {
+		return operationInfo;
+	}
+
 	/**
 	 * Initializes the {@code operatorGroups}.
 	 * <p>
@@ -274,7 +274,10 @@ public class ExprArithmetic<L, R, T> extends SimpleExpression<T> {
 		}
 
 		arithmeticGettable = ArithmeticChain.parse(chain);
-		return arithmeticGettable != null || error(firstClass, secondClass);
+		if (arithmeticGettable == null)
+			return error(firstClass, secondClass);
+		arithmeticGettable = NumericArithmeticChain.compile(arithmeticGettable);
+		return true;
 	}
 
 	private void printArgWarning(Expression<L> first, Expression<R> second, Operator operator) {
@@ -308,6 +311,11 @@ public class ExprArithmetic<L, R, T> extends SimpleExpression<T> {
 		return one;
 	}
 
+	@Override
+	protected @Nullable T getSingleValue(Event event) {
+		return arithmeticGettable.get(event);
+	}
+
 	private boolean error(Class<?> firstClass, Class<?> secondClass) {
 		ClassInfo<?> first = Classes.getSuperClassInfo(firstClass), second = Classes.getSuperClassInfo(secondClass);
 		// errors with "object" are not very useful and often misleading
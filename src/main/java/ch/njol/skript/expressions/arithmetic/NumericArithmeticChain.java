@@ -0,0 +1,202 @@
+package ch.njol.skript.expressions.arithmetic;
+
+import org.bukkit.event.Event;
+import org.jetbrains.annotations.Nullable;
+import org.skriptlang.skript.lang.arithmetic.Arithmetics;
+import org.skriptlang.skript.lang.arithmetic.OperationInfo;
+import org.skriptlang.skript.lang.arithmetic.Operator;
+
+/**
+ * An arithmetic chain between numbers that keeps its intermediate results unboxed.
+ * <p>
+ * Chains are compiled into this when all their operations are the number operations registered in
+ * {@link ch.njol.skript.classes.data.DefaultOperations}, which can't be replaced by addons.
+ * The operations are mirrored exactly: integer operands give a {@link Long} unless the result overflows,
+ * in which case it's calculated as a {@link Double}, and divisions and exponentiations always give a {@link Double}.
+ * Missing operands are replaced by the default value registered for numbers, as {@link ArithmeticChain} does.
+ * Only the operands and the final result are boxed.
+ */
+final class NumericArithmeticChain implements ArithmeticGettable<Number> {
+
+	private static final int ADDITION = 0, SUBTRACTION = 1, MULTIPLICATION = 2, DIVISION = 3, EXPONENTIATION = 4;
+
+	/**
+	 * Compiles the numeric parts of the given arithmetic gettable.
+	 *
+	 * @param gettable the gettable to compile, as parsed by {@link ArithmeticChain#parse(java.util.List)}.
+	 * @return a numeric chain if the gettable is a chain of number operations, otherwise the given gettable.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> ArithmeticGettable<T> compile(ArithmeticGettable<T> gettable) {
+		if (!(gettable instanceof ArithmeticChain<?, ?, ?> chain) || opcode(chain) == -1)
+			return gettable;
+		return (ArithmeticGettable<T>) new NumericArithmeticChain(compileNode(chain));
+	}
+
+	private static Node compileNode(ArithmeticGettable<?> gettable) {
+		if (gettable instanceof ArithmeticChain<?, ?, ?> chain) {
+			int opcode = opcode(chain);
+			if (opcode != -1)
+				return new OperationNode(compileNode(chain.getLeft()), opcode, compileNode(chain.getRight()));
+		}
+		return new OperandNode(gettable);
+	}
+
+	/**
+	 * @return the code of the chain's number operation, or -1 if it is not a number operation.
+	 */
+	private static int opcode(ArithmeticChain<?, ?, ?> chain) {
+		OperationInfo<?, ?, ?> info = chain.getOperationInfo();
+		if (info == null || info.left() != Number.class || info.right() != Number.class || info.returnType() != Number.class)
+			return -1;
+		if (!Number.class.isAssignableFrom(chain.getLeft().getReturnType())
+				|| !Number.class.isAssignableFrom(chain.getRight().getReturnType()))
+			return -1;
+		Operator operator = chain.getOperator();
+		if (operator == Operator.ADDITION)
+			return ADDITION;
+		if (operator == Operator.SUBTRACTION)
+			return SUBTRACTION;
+		if (operator == Operator.MULTIPLICATION)
+			return MULTIPLICATION;
+		if (operator == Operator.DIVISION)
+			return DIVISION;
+		if (operator == Operator.EXPONENTIATION)
+			return EXPONENTIATION;
+		return -1;
+	}
+
+	private final Node root;
+
+	private NumericArithmeticChain(Node root) {
+		this.root = root;
+	}
+
+	@Override
+	public @Nullable Number get(Event event) {
+		Result result = new Result();
+		if (!root.evaluate(event, result))
+			return null;
+		return result.integral ? (Number) result.longValue : (Number) result.doubleValue;
+	}
+
+	@Override
+	public Class<? extends Number> getReturnType() {
+		return Number.class;
+	}
+
+	/**
+	 * The value of a node, reused by all nodes of an evaluation.
+	 */
+	private static final class Result {
+
+		boolean integral;
+		long longValue;
+		double doubleValue;
+
+		void setLong(long value) {
+			integral = true;
+			longValue = value;
+			doubleValue = value;
+		}
+
+		void setDouble(double value) {
+			integral = false;
+			doubleValue = value;
+		}
+
+	}
+
+	private interface Node {
+
+		/**
+		 * Evaluates this node into the given result.
+		 *
+		 * @return whether there is a result.
+		 */
+		boolean evaluate(Event event, Result result);
+
+	}
+
+	private record OperandNode(ArithmeticGettable<?> gettable) implements Node {
+
+		@Override
+		public boolean evaluate(Event event, Result result) {
+			Object value = gettable.get(event);
+			if (value == null) {
+				// like ArithmeticChain#get, missing operands are replaced by the default value unless they are chains
+				if (gettable instanceof ArithmeticChain)
+					return false;
+				value = Arithmetics.getDefaultValue(Number.class);
+			}
+			if (!(value instanceof Number number))
+				return false;
+			// see Utils#isInteger
+			result.integral = !(number instanceof Double || number instanceof Float);
+			result.longValue = number.longValue();
+			result.doubleValue = number.doubleValue();
+			return true;
+		}
+
+	}
+
+	private record OperationNode(Node left, int opcode, Node right) implements Node {
+
+		@Override
+		public boolean evaluate(Event event, Result result) {
+			if (!left.evaluate(event, result))
+				return false;
+			boolean leftIntegral = result.integral;
+			long leftLong = result.longValue;
+			double leftDouble = result.doubleValue;
+			if (!right.evaluate(event, result))
+				return false;
+			boolean integral = leftIntegral && result.integral;
+			long rightLong = result.longValue;
+			double rightDouble = result.doubleValue;
+
+			switch (opcode) {
+				case ADDITION -> {
+					if (integral) {
+						long sum = leftLong + rightLong;
+						if (((leftLong ^ sum) & (rightLong ^ sum)) >= 0) {
+							result.setLong(sum);
+							return true;
+						}
+					}
+					result.setDouble(leftDouble + rightDouble);
+				}
+				case SUBTRACTION -> {
+					if (integral) {
+						long difference = leftLong - rightLong;
+						// the same overflow check as the registered operation
+						if (((leftLong ^ difference) & (rightLong ^ difference)) >= 0) {
+							result.setLong(difference);
+							return true;
+						}
+					}
+					result.setDouble(leftDouble - rightDouble);
+				}
+				case MULTIPLICATION -> {
+					if (!integral) {
+						result.setDouble(leftDouble * rightDouble);
+						return true;
+					}
+					long product = leftLong * rightLong;
+					if (((Math.abs(leftLong) | Math.abs(rightLong)) >>> 31 != 0)
+							&& ((rightLong != 0 && product / rightLong != leftLong) || (leftLong == Long.MIN_VALUE && rightLong == -1))) {
+						result.setDouble(leftDouble * rightDouble);
+						return true;
+					}
+					result.setLong(product);
+				}
+				case DIVISION -> result.setDouble(leftDouble / rightDouble);
+				case EXPONENTIATION -> result.setDouble(Math.pow(leftDouble, rightDouble));
+				default -> throw new IllegalStateException();
+			}
+			return true;
+		}
+
+	}
+
+}
@@ -118,6 +118,23 @@ public class EventValueExpression<T> extends SimpleExpression<T> implements Defa
 		Skript.registerExpression(expression, type, ExpressionType.EVENT, patterns);
 	}
 
+	/**
+	 * Whether the values of an event value expression class are the event values,
+	 * i.e. it doesn't override {@link #get(Event)}. Only then can the single value be taken from the event value directly.
+	 */
+	private static final ClassValue<Boolean> USES_EVENT_VALUE = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			for (Class<?> current = type; current != EventValueExpression.class; current = current.getSuperclass()) {
+				try {
+					current.getDeclaredMethod("get", Event.class);
+					return false;
+				} catch (NoSuchMethodException ignored) {}
+			}
+			return true;
+		}
+	};
+
 	private final Map<Class<? extends Event>, Converter<?, ? extends T>> converters = new HashMap<>();
 	private final Map<Class<? extends Event>, EventConverter<Event, T>> eventConverters = new HashMap<>();
 
@@ -230,6 +247,13 @@ public class EventValueExpression<T> extends SimpleExpression<T> implements Defa
 		return array;
 	}
 
+	@Override
+	protected @Nullable T getSingleValue(Event event) {
+		if (!single || !USES_EVENT_VALUE.get(getClass()))
+			return super.getSingleValue(event);
+		return getValue(event);
+	}
+
 	@Nullable
 	@SuppressWarnings("unchecked")
 	private <E extends Event> T getValue(E event) {
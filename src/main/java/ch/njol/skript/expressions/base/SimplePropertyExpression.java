@@ -16,6 +16,23 @@ import org.skriptlang.skript.lang.converter.Converter;
  */
 public abstract class SimplePropertyExpression<F, T> extends PropertyExpression<F, T> implements Converter<F, T> {
 
+	/**
+	 * Whether a class converts its values with {@link #convert(Object)} only,
+	 * i.e. doesn't override {@link #get(Event, Object[])}, and can thus be evaluated without arrays.
+	 */
+	private static final ClassValue<Boolean> CONVERTS_DIRECTLY = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			for (Class<?> current = type; current != SimplePropertyExpression.class; current = current.getSuperclass()) {
+				try {
+					current.getDeclaredMethod("get", Event.class, Object[].class);
+					return false;
+				} catch (NoSuchMethodException ignored) {}
+			}
+			return true;
+		}
+	};
+
 	protected String rawExpr;
   
 	@Override
@@ -39,6 +56,14 @@ public abstract class SimplePropertyExpression<F, T> extends PropertyExpression<
 		return super.get(source, this);
 	}
 
+	@Override
+	protected @Nullable T getSingleValue(Event event) {
+		if (!getExpr().isSingle() || !CONVERTS_DIRECTLY.get(getClass()))
+			return super.getSingleValue(event);
+		F source = getExpr().getSingle(event);
+		return source == null ? null : convert(source);
+	}
+
 	/**
 	 * Used to collect the property type used in the register method.
 	 * This forms the toString of this SimplePropertyExpression.
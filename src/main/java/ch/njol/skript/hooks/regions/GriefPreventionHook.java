@@ -66,6 +66,12 @@ public class GriefPreventionHook extends RegionsPlugin<GriefPrevention> {
 					+ " Please report this at https://github.com/SkriptLang/Skript/issues/ if this error occurred after you updated GriefPrevention.");
 			return false;
 		}
+		invalidateRegionsOn(
+			"me.ryanhamshire.GriefPrevention.events.ClaimCreatedEvent",
+			"me.ryanhamshire.GriefPrevention.events.ClaimResizeEvent",
+			"me.ryanhamshire.GriefPrevention.events.ClaimDeletedEvent",
+			"me.ryanhamshire.GriefPrevention.events.ClaimExpirationEvent"
+		);
 		return super.init();
 	}
 	
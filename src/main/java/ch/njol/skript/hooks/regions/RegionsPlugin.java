@@ -6,10 +6,15 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.Nullable;
 
@@ -67,6 +72,46 @@ public abstract class RegionsPlugin<P extends Plugin> extends Hook<P> {
 		return true;
 	}
 	
+	private static final AtomicInteger regionsVersion = new AtomicInteger();
+	
+	/**
+	 * Marks all cached region lookups as outdated, e.g. because a region was created, resized or deleted.
+	 * Hooks call this for the changes their plugin has events for; it may also be called by addons.
+	 */
+	public static void invalidateRegions() {
+		regionsVersion.incrementAndGet();
+	}
+	
+	/**
+	 * @return A number that changes whenever {@link #invalidateRegions()} is called,
+	 * 			so that caches of region lookups can tell whether they are outdated.
+	 */
+	public static int getRegionsVersion() {
+		return regionsVersion.get();
+	}
+	
+	/**
+	 * Invalidates cached region lookups whenever one of the given events is called.
+	 * Events that do not exist in the installed version of the hooked plugin are ignored.
+	 * @param eventClassNames Fully qualified names of events that are called when regions of the hooked plugin change.
+	 */
+	protected final void invalidateRegionsOn(String... eventClassNames) {
+		Listener listener = new Listener() {};
+		for (String eventClassName : eventClassNames) {
+			Class<?> eventClass;
+			try {
+				eventClass = Class.forName(eventClassName, true, plugin.getClass().getClassLoader());
+			} catch (ClassNotFoundException e) {
+				continue;
+			}
+			if (!Event.class.isAssignableFrom(eventClass))
+				continue;
+			//noinspection unchecked
+			Bukkit.getPluginManager().registerEvent((Class<? extends Event>) eventClass, listener, EventPriority.MONITOR,
+				(l, event) -> invalidateRegions(), Skript.getInstance(), true);
+		}
+	}
+	
 	public abstract Collection<? extends Region> getRegionsAt_i(Location l);
 	
 	public static Set<? extends Region> getRegionsAt(final Location l) {
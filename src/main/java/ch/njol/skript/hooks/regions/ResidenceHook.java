@@ -39,6 +39,14 @@ public class ResidenceHook extends RegionsPlugin<Residence> {
 	
 	@Override
 	protected boolean init() {
+		invalidateRegionsOn(
+			"com.bekvon.bukkit.residence.event.ResidenceCreationEvent",
+			"com.bekvon.bukkit.residence.event.ResidenceSubzoneCreationEvent",
+			"com.bekvon.bukkit.residence.event.ResidenceSizeChangeEvent",
+			"com.bekvon.bukkit.residence.event.ResidenceAreaAddEvent",
+			"com.bekvon.bukkit.residence.event.ResidenceAreaDeleteEvent",
+			"com.bekvon.bukkit.residence.event.ResidenceDeleteEvent"
+		);
 		return super.init();
 	}
 	
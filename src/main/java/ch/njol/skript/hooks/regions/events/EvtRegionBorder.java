@@ -9,8 +9,10 @@ import ch.njol.skript.lang.SkriptEvent;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.Trigger;
 import ch.njol.skript.registrations.EventValues;
+import com.google.common.collect.MapMaker;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 import org.bukkit.event.EventPriority;
@@ -24,6 +26,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -45,6 +48,21 @@ public class EvtRegionBorder extends SkriptEvent {
 		EventValues.registerEventValue(RegionBorderEvent.class, Player.class, RegionBorderEvent::getPlayer);
 	}
 
+	/**
+	 * The regions at the block each player was last seen in.
+	 * Regions are block-granular, so they only need to be looked up again once a player moves to another block.
+	 */
+	private static final Map<Player, CachedRegions> LAST_REGIONS = new MapMaker().weakKeys().makeMap();
+
+	private record CachedRegions(World world, int x, int y, int z, int version, Set<? extends Region> regions) {
+
+		boolean isAt(Location location, int version) {
+			return this.version == version && location.getWorld() == world
+				&& location.getBlockX() == x && location.getBlockY() == y && location.getBlockZ() == z;
+		}
+
+	}
+
 	// Even WorldGuard doesn't have events, and this way all region plugins are supported for sure.
 	private final static EventExecutor EXECUTOR = new EventExecutor() {
 		@Nullable
@@ -60,10 +78,15 @@ public class EvtRegionBorder extends SkriptEvent {
 			Location to = moveEvent.getTo();
 			Location from = moveEvent.getFrom();
 
-			if (to.equals(from))
+			// moving within a block (e.g. only turning the head) can't change the regions a player is in
+			if (from.getWorld() == to.getWorld() && from.getBlockX() == to.getBlockX()
+					&& from.getBlockY() == to.getBlockY() && from.getBlockZ() == to.getBlockZ())
 				return;
 
-			Set<? extends Region> oldRegions = RegionsPlugin.getRegionsAt(from);
+			Player player = moveEvent.getPlayer();
+			int version = RegionsPlugin.getRegionsVersion();
+			CachedRegions cached = LAST_REGIONS.get(player);
+			Set<? extends Region> oldRegions = cached != null && cached.isAt(from, version) ? cached.regions() : RegionsPlugin.getRegionsAt(from);
 			Set<? extends Region> newRegions = RegionsPlugin.getRegionsAt(to);
 
 			for (Region oldRegion : oldRegions) {
@@ -75,6 +98,11 @@ public class EvtRegionBorder extends SkriptEvent {
 				if (!oldRegions.contains(newRegion))
 					callEvent(newRegion, moveEvent, true);
 			}
+
+			// if the move was cancelled, the player stays where they were
+			Location at = moveEvent.isCancelled() ? from : to;
+			LAST_REGIONS.put(player, new CachedRegions(at.getWorld(), at.getBlockX(), at.getBlockY(), at.getBlockZ(),
+				version, moveEvent.isCancelled() ? oldRegions : newRegions));
 		}
 	};
 
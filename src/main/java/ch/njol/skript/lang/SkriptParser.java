@@ -202,25 +202,39 @@ public final class SkriptParser {
 
 	private <T extends SyntaxElement> @Nullable T parse(Iterator<? extends SyntaxInfo<? extends T>> source) {
 		ParsingStack parsingStack = getParser().getParsingStack();
+		String lowerExpr = expr.toLowerCase(Locale.ENGLISH);
 		try (ParseLogHandler log = SkriptLogger.startParseLogHandler()) {
+			SyntaxKeywordIndex index = null;
+			SyntaxKeywordIndex.Candidates candidates = null;
 			while (source.hasNext()) {
 				SyntaxInfo<? extends T> info = source.next();
+				SyntaxKeywordIndex infoIndex = SyntaxKeywordIndex.of(info);
+				if (infoIndex != index) {
+					index = infoIndex;
+					candidates = index.candidates(lowerExpr);
+				}
+				// Skip syntax infos without a pattern in the keyword buckets found in the input
+				if (!candidates.any(info))
+					continue;
+				SkriptPattern[] compiledPatterns = index.patterns(info);
 				int matchedPattern = -1; // will increment at the start of each iteration
 				patternsLoop: for (String pattern : info.patterns()) {
 					matchedPattern++;
+
+					// Skip patterns whose required keywords are missing without further ado,
+					//  as matching them would fail without logging anything
+					SkriptPattern skriptPattern = compiledPatterns[matchedPattern];
+					if (!candidates.contains(info, matchedPattern) || !skriptPattern.keywordsPresent(lowerExpr))
+						continue;
+
 					log.clear();
 					ParseResult parseResult;
 
 					try {
 						parsingStack.push(new ParsingStack.Element(info, matchedPattern));
-						parseResult = parse_i(pattern);
+						parseResult = parse_i(skriptPattern);
 					} catch (MalformedPatternException e) {
-						String message = "pattern compiling exception, element class: " + info.type().getName();
-						try {
-							JavaPlugin providingPlugin = JavaPlugin.getProvidingPlugin(info.type());
-							message += " (provided by " + providingPlugin.getName() + ")";
-						} catch (IllegalArgumentException | IllegalStateException ignored) { }
-						throw new RuntimeException(message, e);
+						throw new RuntimeException(getPatternExceptionMessage(info), e);
 					} catch (StackOverflowError e) {
 						// Parsing caused a stack overflow, possibly due to too long lines
 						throw new ParseStackOverflowException(e, new ParsingStack(parsingStack));
@@ -288,6 +302,34 @@ public final class SkriptParser {
 		}
 	}
 
+	/**
+	 * Compiles all patterns of the given syntax info.
+	 *
+	 * @param info The syntax info.
+	 * @return The compiled patterns, in the order of {@link SyntaxInfo#patterns()}.
+	 */
+	static SkriptPattern[] compilePatterns(SyntaxInfo<?> info) {
+		SkriptPattern[] compiled = new SkriptPattern[info.patterns().size()];
+		int i = 0;
+		for (String pattern : info.patterns()) {
+			try {
+				compiled[i++] = patterns.computeIfAbsent(pattern, PatternCompiler::compile);
+			} catch (MalformedPatternException e) {
+				throw new RuntimeException(getPatternExceptionMessage(info), e);
+			}
+		}
+		return compiled;
+	}
+
+	private static String getPatternExceptionMessage(SyntaxInfo<?> info) {
+		String message = "pattern compiling exception, element class: " + info.type().getName();
+		try {
+			JavaPlugin providingPlugin = JavaPlugin.getProvidingPlugin(info.type());
+			message += " (provided by " + providingPlugin.getName() + ")";
+		} catch (IllegalArgumentException | IllegalStateException ignored) { }
+		return message;
+	}
+
 	/**
 	 * Returns a simplified version of element, unless a runtime error is thrown, in which case a parse error is printed
 	 * and null is returned.
@@ -1542,7 +1584,10 @@ public final class SkriptParser {
 	private static final Map<String, SkriptPattern> patterns = new ConcurrentHashMap<>();
 
 	private @Nullable ParseResult parse_i(String pattern) {
-		SkriptPattern skriptPattern = patterns.computeIfAbsent(pattern, PatternCompiler::compile);
+		return parse_i(patterns.computeIfAbsent(pattern, PatternCompiler::compile));
+	}
+
+	private @Nullable ParseResult parse_i(SkriptPattern skriptPattern) {
 		ch.njol.skript.patterns.MatchResult matchResult = skriptPattern.match(expr, flags, context);
 		if (matchResult == null)
 			return null;
@@ -0,0 +1,274 @@
+package ch.njol.skript.lang;
+
+import ch.njol.skript.patterns.SkriptPattern;
+import org.skriptlang.skript.registration.SyntaxInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buckets the compiled patterns of one kind of syntax element by the rarest literal keyword each pattern requires.
+ * <p>
+ * Before the parser tries any syntax info, {@link #candidates(String)} finds the buckets whose keyword is contained
+ * in the input in a single pass over the input. Syntax infos without a pattern in one of these buckets can then be
+ * skipped by one identity lookup, without looking at their patterns. The parser still walks its source iterator,
+ * so syntax infos are tried in registration order and filtered sources keep working.
+ * <p>
+ * Syntax infos are added to the index the first time they are parsed,
+ * and the buckets are rebuilt before the next parse that uses the index.
+ */
+final class SyntaxKeywordIndex {
+
+	/**
+	 * The kinds of syntax elements that have an index of their own.
+	 * All other elements share one index, as do elements parsed by a source that mixes kinds.
+	 */
+	private static final Class<?>[] KINDS = {Expression.class, Condition.class, Effect.class, Section.class};
+
+	private static final Map<Class<?>, SyntaxKeywordIndex> indices = new ConcurrentHashMap<>();
+
+	private static final ClassValue<SyntaxKeywordIndex> INDEX = new ClassValue<>() {
+		@Override
+		protected SyntaxKeywordIndex computeValue(Class<?> type) {
+			Class<?> kind = SyntaxElement.class;
+			for (Class<?> candidate : KINDS) {
+				if (candidate.isAssignableFrom(type)) {
+					kind = candidate;
+					break;
+				}
+			}
+			return indices.computeIfAbsent(kind, k -> new SyntaxKeywordIndex());
+		}
+	};
+
+	/**
+	 * @param info The syntax info.
+	 * @return The index holding the patterns of syntax infos of the same kind as the given one.
+	 */
+	static SyntaxKeywordIndex of(SyntaxInfo<?> info) {
+		return INDEX.get(info.type());
+	}
+
+	/**
+	 * The compiled patterns of every syntax info added to this index, in the order of {@link SyntaxInfo#patterns()}.
+	 * Syntax infos are compared by identity, as their hash codes are expensive to compute.
+	 * Guarded by {@code this}.
+	 */
+	private final Map<SyntaxInfo<?>, SkriptPattern[]> compiled = new IdentityHashMap<>();
+
+	private volatile Buckets buckets = new Buckets(new IdentityHashMap<>(), new SkriptPattern[0][], new String[0],
+		new long[0][], new int[0], new int[0][], new int[0], new long[0]);
+
+	/**
+	 * Whether syntax infos were added since the buckets were last built.
+	 */
+	private volatile boolean stale;
+
+	private SyntaxKeywordIndex() { }
+
+	/**
+	 * Finds the patterns that may match the given input.
+	 *
+	 * @param lowerExpr The input, lower-cased using {@link java.util.Locale#ENGLISH}.
+	 * @return The candidate patterns of every syntax info of this index.
+	 */
+	Candidates candidates(String lowerExpr) {
+		if (stale) {
+			synchronized (this) {
+				if (stale) {
+					buckets = build();
+					stale = false;
+				}
+			}
+		}
+		return new Candidates(buckets, lowerExpr);
+	}
+
+	/**
+	 * @param info A syntax info of this index.
+	 * @return The compiled patterns of the syntax info, in the order of {@link SyntaxInfo#patterns()}.
+	 */
+	SkriptPattern[] patterns(SyntaxInfo<?> info) {
+		Buckets buckets = this.buckets;
+		Integer id = buckets.ids.get(info);
+		if (id != null)
+			return buckets.patterns[id];
+		synchronized (this) {
+			SkriptPattern[] patterns = compiled.get(info);
+			if (patterns == null) {
+				patterns = SkriptParser.compilePatterns(info);
+				compiled.put(info, patterns);
+				stale = true;
+			}
+			return patterns;
+		}
+	}
+
+	/**
+	 * Buckets the patterns of all syntax infos added so far. Each pattern is put into the bucket of the required
+	 * string that the fewest patterns of this index require, preferring longer strings on ties.
+	 * Patterns without a required string are candidates for every input.
+	 */
+	private Buckets build() {
+		int size = compiled.size();
+		IdentityHashMap<SyntaxInfo<?>, Integer> ids = new IdentityHashMap<>(size);
+		SkriptPattern[][] patterns = new SkriptPattern[size][];
+		Map<String, Integer> frequencies = new HashMap<>();
+		for (Entry<SyntaxInfo<?>, SkriptPattern[]> entry : compiled.entrySet()) {
+			int id = ids.size();
+			ids.put(entry.getKey(), id);
+			patterns[id] = entry.getValue();
+			for (SkriptPattern pattern : entry.getValue()) {
+				for (String string : pattern.getRequiredStrings())
+					frequencies.merge(string, 1, Integer::sum);
+			}
+		}
+
+		Map<String, List<Long>> keyed = new TreeMap<>();
+		List<Long> unkeyed = new ArrayList<>();
+		for (int id = 0; id < size; id++) {
+			for (int index = 0; index < patterns[id].length; index++) {
+				String key = null;
+				for (String string : patterns[id][index].getRequiredStrings()) {
+					if (key == null) {
+						key = string;
+						continue;
+					}
+					int difference = frequencies.get(string) - frequencies.get(key);
+					if (difference < 0 || difference == 0 && string.length() > key.length())
+						key = string;
+				}
+				long entry = (long) id << 32 | index;
+				if (key == null) {
+					unkeyed.add(entry);
+				} else {
+					keyed.computeIfAbsent(key, k -> new ArrayList<>()).add(entry);
+				}
+			}
+		}
+
+		String[] keys = keyed.keySet().toArray(new String[0]);
+		long[][] keyPatterns = new long[keys.length][];
+		List<Integer> shortKeys = new ArrayList<>();
+		Map<Integer, List<Integer>> byBigram = new TreeMap<>();
+		for (int key = 0; key < keys.length; key++) {
+			keyPatterns[key] = toArray(keyed.get(keys[key]));
+			if (keys[key].length() < 2) {
+				shortKeys.add(key);
+			} else {
+				byBigram.computeIfAbsent(bigram(keys[key], 0), k -> new ArrayList<>()).add(key);
+			}
+		}
+		int[] bigrams = new int[byBigram.size()];
+		int[][] bigramKeys = new int[byBigram.size()][];
+		int i = 0;
+		for (Entry<Integer, List<Integer>> entry : byBigram.entrySet()) {
+			bigrams[i] = entry.getKey();
+			bigramKeys[i++] = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+		}
+		return new Buckets(ids, patterns, keys, keyPatterns, bigrams, bigramKeys,
+			shortKeys.stream().mapToInt(Integer::intValue).toArray(), toArray(unkeyed));
+	}
+
+	private static int bigram(String string, int index) {
+		return string.charAt(index) << 16 | string.charAt(index + 1);
+	}
+
+	private static long[] toArray(List<Long> list) {
+		return list.stream().mapToLong(Long::longValue).toArray();
+	}
+
+	/**
+	 * @param ids The id of each bucketed syntax info, which is its index in {@code patterns}.
+	 * @param keys The bucket keywords.
+	 * @param keyPatterns The patterns in the bucket of each keyword, as the syntax info id in the upper
+	 *                    and the pattern index in the lower 32 bits.
+	 * @param bigrams The sorted first two characters of the keywords, as the first character in the upper
+	 *                and the second character in the lower 16 bits.
+	 * @param bigramKeys The keywords starting with each bigram.
+	 * @param shortKeys The keywords that are a single character long.
+	 * @param unkeyed The patterns without a bucket, which are candidates for every input.
+	 */
+	private record Buckets(IdentityHashMap<SyntaxInfo<?>, Integer> ids, SkriptPattern[][] patterns, String[] keys,
+						   long[][] keyPatterns, int[] bigrams, int[][] bigramKeys, int[] shortKeys, long[] unkeyed) { }
+
+	/**
+	 * The patterns of an index that may match one input.
+	 */
+	static final class Candidates {
+
+		private final Buckets buckets;
+		private final BitSet[] candidates;
+
+		private Candidates(Buckets buckets, String lowerExpr) {
+			this.buckets = buckets;
+			this.candidates = new BitSet[buckets.patterns.length];
+			for (long entry : buckets.unkeyed)
+				add(entry);
+			for (int key : buckets.shortKeys) {
+				if (lowerExpr.contains(buckets.keys[key]))
+					add(key);
+			}
+			if (buckets.bigrams.length == 0)
+				return;
+			boolean[] found = new boolean[buckets.keys.length];
+			for (int i = 0; i < lowerExpr.length() - 1; i++) {
+				int bigram = Arrays.binarySearch(buckets.bigrams, bigram(lowerExpr, i));
+				if (bigram < 0)
+					continue;
+				for (int key : buckets.bigramKeys[bigram]) {
+					if (!found[key] && lowerExpr.startsWith(buckets.keys[key], i)) {
+						found[key] = true;
+						add(key);
+					}
+				}
+			}
+		}
+
+		private void add(int key) {
+			for (long entry : buckets.keyPatterns[key])
+				add(entry);
+		}
+
+		private void add(long entry) {
+			int id = (int) (entry >>> 32);
+			BitSet patterns = candidates[id];
+			if (patterns == null)
+				patterns = candidates[id] = new BitSet();
+			patterns.set((int) entry);
+		}
+
+		/**
+		 * @param info A syntax info of this index.
+		 * @return Whether any pattern of the syntax info may match the input.
+		 */
+		boolean any(SyntaxInfo<?> info) {
+			Integer id = buckets.ids.get(info);
+			return id == null || candidates[id] != null;
+		}
+
+		/**
+		 * @param info A syntax info of this index.
+		 * @param pattern The index of one of its patterns.
+		 * @return Whether the pattern may match the input.
+		 *  Patterns still need to have {@link SkriptPattern#keywordsPresent(String) all their keywords present}.
+		 */
+		boolean contains(SyntaxInfo<?> info, int pattern) {
+			Integer id = buckets.ids.get(info);
+			if (id == null)
+				return true;
+			BitSet patterns = candidates[id];
+			return patterns != null && patterns.get(pattern);
+		}
+
+	}
+
+}
@@ -14,6 +14,7 @@ import ch.njol.skript.registrations.Classes;
 import ch.njol.skript.structures.StructVariables.DefaultVariables;
 import ch.njol.skript.util.StringMode;
 import ch.njol.skript.util.Utils;
+import ch.njol.skript.variables.LocalVariableSlot;
 import ch.njol.skript.variables.Variables;
 import ch.njol.util.Kleenean;
 import ch.njol.util.Pair;
@@ -21,7 +22,6 @@ import ch.njol.util.StringUtils;
 import ch.njol.util.coll.CollectionUtils;
 import ch.njol.util.coll.iterator.SingleItemIterator;
 import com.google.common.collect.Iterators;
-import org.apache.commons.lang3.ArrayUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
@@ -67,6 +67,11 @@ public class Variable<T> implements Expression<T>, KeyReceiverExpression<T>, Key
 	private final boolean ephemeral;
 	private final boolean list;
 
+	/**
+	 * The slot of this variable if it is a local variable with a name that is known while parsing.
+	 */
+	private final @Nullable LocalVariableSlot slot;
+
 	private final @Nullable Variable<?> source;
 	private final Map<Event, String[]> cache = Collections.synchronizedMap(new WeakHashMap<>());
 
@@ -88,6 +93,8 @@ public class Variable<T> implements Expression<T>, KeyReceiverExpression<T>, Key
 
 		this.name = name;
 
+		this.slot = local && !list && name.isSimple() ? LocalVariableSlot.of(name.toString(null)) : null;
+
 		this.types = types;
 		this.superType = (Class<T>) Classes.getSuperClassInfo(types).getC();
 
@@ -344,12 +351,20 @@ public class Variable<T> implements Expression<T>, KeyReceiverExpression<T>, Key
 		if (data != null)
 			data.enterScope();
 		try {
-			String name = this.name.toString(event);
-
-			// prevents e.g. {%expr%} where "%expr%" ends with "::*" from returning a Map
-			if (name.endsWith(Variable.SEPARATOR + "*") != list)
-				return null;
-			Object value = !list ? convertIfOldPlayer(name, local, event, Variables.getVariable(name, event, local)) : Variables.getVariable(name, event, local);
+			String name;
+			Object value;
+			if (slot != null) {
+				// the name is known, no need to render it or to look it up by name
+				name = slot.getName();
+				value = convertIfOldPlayer(name, true, event, slot.get(event));
+			} else {
+				name = this.name.toString(event);
+
+				// prevents e.g. {%expr%} where "%expr%" ends with "::*" from returning a Map
+				if (name.endsWith(Variable.SEPARATOR + "*") != list)
+					return null;
+				value = !list ? convertIfOldPlayer(name, local, event, Variables.getVariable(name, event, local)) : Variables.getVariable(name, event, local);
+			}
 			if (value != null)
 				return value;
 
@@ -373,9 +388,13 @@ public class Variable<T> implements Expression<T>, KeyReceiverExpression<T>, Key
 		Object rawValue = getRaw(event);
 		if (!list)
 			return rawValue;
-		KeyedValue<?>[] values = listProvider.getValues(event);
-		//noinspection unchecked,rawtypes
-		return KeyedValue.unzip((KeyedValue[]) values).values().toArray();
+		Object[] entries = listProvider.getEntries(event);
+		List<Object> values = new ArrayList<>(entries.length / 2);
+		for (int i = 1; i < entries.length; i += 2) {
+			if (entries[i] != null)
+				values.add(entries[i]);
+		}
+		return values.toArray();
 	}
 
 	/*
@@ -399,15 +418,32 @@ public class Variable<T> implements Expression<T>, KeyReceiverExpression<T>, Key
 	public Iterator<KeyedValue<T>> keyedIterator(Event event) {
 		if (!list)
 			throw new SkriptAPIException("Invalid call to keyedIterator");
-		Iterator<KeyedValue<?>> iterator = Iterators.forArray(listProvider.getValues(event));
-		Iterator<KeyedValue<T>> transformed = Iterators.transform(iterator, value -> {
-			assert value != null;
-			T converted = Converters.convert(value.value(), types);
-			if (converted == null)
-				return null;
-			return new KeyedValue<>(value.key(), converted);
-		});
-		return Iterators.filter(transformed, Objects::nonNull);
+		Object[] entries = listProvider.getEntries(event);
+		return new Iterator<>() {
+			private int index = 0;
+			private @Nullable KeyedValue<T> next;
+
+			@Override
+			public boolean hasNext() {
+				while (next == null && index < entries.length) {
+					String key = (String) entries[index++];
+					Object value = entries[index++];
+					T converted = value == null ? null : Converters.convert(value, types);
+					if (converted != null)
+						next = new KeyedValue<>(key, converted);
+				}
+				return next != null;
+			}
+
+			@Override
+			public KeyedValue<T> next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				KeyedValue<T> value = next;
+				next = null;
+				return value;
+			}
+		};
 	}
 
 	public Iterator<Pair<String, Object>> variablesIterator(Event event) {
@@ -433,20 +469,35 @@ public class Variable<T> implements Expression<T>, KeyReceiverExpression<T>, Key
 
 	private T[] getConvertedArray(Event event) {
 		assert list;
+		Object[] entries = listProvider.getEntries(event);
+		// convert straight into the result arrays, without intermediate keyed values
+		int length = entries.length / 2;
+		String[] keys = new String[length];
 		//noinspection unchecked
-		KeyedValue<Object>[] values = (KeyedValue<Object>[]) listProvider.getValues(event);
-		KeyedValue<T>[] mappedValues = KeyedValue.map(values, value -> Converters.convert(value, types));
-		mappedValues = ArrayUtils.removeAllOccurrences(mappedValues, null);
-
-		KeyedValue.UnzippedKeyValues<T> unzipped = KeyedValue.unzip(mappedValues);
+		T[] converted = (T[]) Array.newInstance(superType, length);
+		int size = 0;
+		for (int i = 0; i < entries.length; i += 2) {
+			T convertedValue = entries[i + 1] == null ? null : Converters.convert(entries[i + 1], types);
+			if (convertedValue == null)
+				continue;
+			keys[size] = (String) entries[i];
+			converted[size++] = convertedValue;
+		}
+		if (size != length) {
+			keys = Arrays.copyOf(keys, size);
+			converted = Arrays.copyOf(converted, size);
+		}
 
-		cache.put(event, unzipped.keys().toArray(new String[0]));
-		//noinspection unchecked
-		return unzipped.values().toArray((T[]) Array.newInstance(superType, 0));
+		cache.put(event, keys);
+		return converted;
 	}
 
 	private void set(Event event, @Nullable Object value) {
-		Variables.setVariable("" + name.toString(event), value, event, local);
+		if (slot != null) {
+			slot.set(event, value);
+		} else {
+			Variables.setVariable("" + name.toString(event), value, event, local);
+		}
 	}
 
 	private void setIndex(Event event, String index, @Nullable Object value) {
@@ -796,41 +847,19 @@ public class Variable<T> implements Expression<T>, KeyReceiverExpression<T>, Key
 
 	private interface ListProvider {
 
-		KeyedValue<?>[] getValues(Event event);
+		/**
+		 * @return the indices and values of the elements of the list, alternating.
+		 * 			Values are {@code null} for elements that should be skipped.
+		 */
+		Object[] getEntries(Event event);
 
 	}
 
 	class ShallowListProvider implements ListProvider {
 
 		@Override
-		public KeyedValue<?>[] getValues(Event event) {
-			if (!list)
-				throw new SkriptAPIException("Invalid call to getValues on non-list variable");
-
-			Object rawValue = getRaw(event);
-			if (rawValue == null)
-				return new KeyedValue[0];
-
-			List<KeyedValue<?>> keyedValues = new ArrayList<>();
-			String name = StringUtils.substring(Variable.this.name.toString(event), 0, -1);
-			//noinspection unchecked
-			for (Entry<String, ?> variable : ((Map<String, ?>) rawValue).entrySet()) {
-				if (variable.getKey() == null || variable.getValue() == null)
-					continue;
-
-				Object value;
-				if (variable.getValue() instanceof Map<?, ?> sublist) {
-					value = sublist.get(null);
-				} else {
-					value = variable.getValue();
-				}
-
-				value = convertIfOldPlayer(name + variable.getKey(), local, event, value);
-				if (value != null)
-					keyedValues.add(new KeyedValue<>(variable.getKey(), value));
-			}
-
-			return keyedValues.toArray(new KeyedValue[0]);
+		public Object[] getEntries(Event event) {
+			return getListEntries(event, false);
 		}
 
 	}
@@ -838,43 +867,37 @@ public class Variable<T> implements Expression<T>, KeyReceiverExpression<T>, Key
 	class RecursiveListProvider implements ListProvider {
 
 		@Override
-		public KeyedValue<?>[] getValues(Event event) {
-			if (!list)
-				throw new SkriptAPIException("Invalid call to getValues on non-list variable");
-
-			Object rawValue = getRaw(event);
-			if (rawValue == null)
-				return new KeyedValue[0];
-
-			List<KeyedValue<?>> keyedValues = new ArrayList<>();
-			String name = StringUtils.substring(Variable.this.name.toString(event), 0, -1);
-			getValuesRecursive(event, (Map<?, ?>) rawValue, name, "", keyedValues);
-
-			return keyedValues.toArray(new KeyedValue[0]);
+		public Object[] getEntries(Event event) {
+			return getListEntries(event, true);
 		}
 
-		private void getValuesRecursive(Event event, Map<?, ?> variable, String root, String prefix, List<KeyedValue<?>> values) {
-			//noinspection unchecked
-			for (Entry<String, ?> entry : ((Map<String, ?>) variable).entrySet()) {
-				if (entry.getKey() == null || entry.getValue() == null)
-					continue;
-
-				String relativeKey = prefix + entry.getKey();
-				String absoluteKey = root + relativeKey;
-				Object value;
-				if (entry.getValue() instanceof Map<?, ?> sublist) {
-					getValuesRecursive(event, (Map<?, ?>) entry.getValue(), root, relativeKey + SEPARATOR, values);
-					value = sublist.get(null);
-				} else {
-					value = entry.getValue();
-				}
+	}
 
-				value = convertIfOldPlayer(absoluteKey, local, event, value);
-				if (value != null)
-					values.add(new KeyedValue<>(relativeKey, value));
-			}
+	/**
+	 * Takes a snapshot of the elements of this list, see {@link Variables#getListEntries(String, Event, boolean, boolean)}.
+	 */
+	private Object[] getListEntries(Event event, boolean recursive) {
+		if (!list)
+			throw new SkriptAPIException("Invalid call to getEntries on non-list variable");
+
+		String name = this.name.toString(event);
+		// prevents e.g. {%expr%} where "%expr%" ends with "::*" from returning a Map, see getRaw
+		if (!name.endsWith(SEPARATOR + "*"))
+			return new Object[0];
+		Object[] entries = Variables.getListEntries(name, event, local, recursive);
+		if (entries == null) {
+			DefaultVariables data = script == null ? null : script.getData(DefaultVariables.class);
+			if (data == null || !data.hasDefaultVariables())
+				return new Object[0];
+			entries = Variables.getListEntries(getRaw(event), recursive);
+			if (entries == null)
+				return new Object[0];
 		}
 
+		String prefix = StringUtils.substring(name, 0, -1);
+		for (int i = 0; i < entries.length; i += 2)
+			entries[i + 1] = convertIfOldPlayer(prefix + entries[i], local, event, entries[i + 1]);
+		return entries;
 	}
 
 }
@@ -15,6 +15,7 @@ import ch.njol.skript.registrations.Classes;
 import ch.njol.skript.structures.StructVariables.DefaultVariables;
 import ch.njol.skript.util.StringMode;
 import ch.njol.skript.util.Utils;
+import ch.njol.skript.util.chat.BungeeConverter;
 import ch.njol.skript.util.chat.ChatMessages;
 import ch.njol.skript.util.chat.MessageComponent;
 import ch.njol.util.Kleenean;
@@ -22,6 +23,7 @@ import ch.njol.util.StringUtils;
 import ch.njol.util.coll.CollectionUtils;
 import ch.njol.util.coll.iterator.SingleItemIterator;
 import com.google.common.collect.Lists;
+import net.md_5.bungee.api.chat.BaseComponent;
 import org.bukkit.ChatColor;
 import org.bukkit.event.Event;
 import org.jetbrains.annotations.NotNull;
@@ -60,6 +62,13 @@ public class VariableString implements Expression<String> {
 	 */
 	private final MessageComponent[] components;
 
+	/**
+	 * The parsed message components of a simple string and their conversion to Bungee components,
+	 * created once when first needed. These are never handed out directly as they are mutable.
+	 */
+	private volatile @Nullable List<MessageComponent> simpleComponents;
+	private volatile BaseComponent @Nullable [] simpleBungeeComponents;
+
 	/**
 	 * Creates a new VariableString which does not contain variables.
 	 *
@@ -400,8 +409,9 @@ public class VariableString implements Expression<String> {
 	 */
 	public List<MessageComponent> getMessageComponents(Event event, @Nullable StringBuilder unformattedBuilder) {
 		if (isSimple) { // Trusted, constant string in a script
-			assert simpleUnformatted != null;
-			return ChatMessages.parse(simpleUnformatted);
+			if (unformattedBuilder != null)
+				unformattedBuilder.append(simpleUnformatted);
+			return copySimpleComponents();
 		}
 
 		// Parse formatting
@@ -465,14 +475,52 @@ public class VariableString implements Expression<String> {
 	 * @return Message components.
 	 */
 	public List<MessageComponent> getMessageComponentsUnsafe(Event event) {
-		if (isSimple) { // Trusted, constant string in a script
-			assert simpleUnformatted != null;
-			return ChatMessages.parse(simpleUnformatted);
-		}
+		if (isSimple) // Trusted, constant string in a script
+			return copySimpleComponents();
 
 		return ChatMessages.parse(toUnformattedString(event));
 	}
 
+	/**
+	 * Gets this string as Bungee components, with formatting parsed only in simple parts like {@link #getMessageComponents(Event)}.
+	 * For simple strings, the components are converted only once and shared.
+	 * <p>
+	 * <b>Do not modify the returned components!</b>
+	 *
+	 * @param event Currently running event.
+	 * @return Bungee components.
+	 */
+	public BaseComponent[] getBungeeComponents(Event event) {
+		if (!isSimple)
+			return BungeeConverter.convert(getMessageComponents(event));
+		BaseComponent[] components = simpleBungeeComponents;
+		if (components == null)
+			simpleBungeeComponents = components = BungeeConverter.convert(getSimpleComponents());
+		return components;
+	}
+
+	/**
+	 * @return The parsed components of this simple string, which must not be modified.
+	 */
+	private List<MessageComponent> getSimpleComponents() {
+		assert isSimple && simpleUnformatted != null;
+		List<MessageComponent> components = simpleComponents;
+		if (components == null)
+			simpleComponents = components = ChatMessages.parse(simpleUnformatted);
+		return components;
+	}
+
+	/**
+	 * @return A copy of the parsed components of this simple string, which is cheaper than parsing it again.
+	 */
+	private List<MessageComponent> copySimpleComponents() {
+		List<MessageComponent> components = getSimpleComponents();
+		List<MessageComponent> copy = new ArrayList<>(components.size());
+		for (MessageComponent component : components)
+			copy.add(component.copy());
+		return copy;
+	}
+
 	/**
 	 * Parses all expressions in the string and returns it in chat JSON format.
 	 *
@@ -11,6 +11,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.skriptlang.skript.common.function.DefaultFunction;
 import org.skriptlang.skript.common.function.FunctionArguments;
+import org.skriptlang.skript.common.function.FunctionCache;
+import org.skriptlang.skript.common.function.FunctionModifier;
 import org.skriptlang.skript.common.function.Parameter.Modifier;
 import org.skriptlang.skript.common.function.Parameters;
 import org.skriptlang.skript.common.function.ScriptParameter;
@@ -30,10 +32,31 @@ public abstract class Function<T> implements org.skriptlang.skript.common.functi
 
 	private final Signature<T> sign;
 
+	private volatile @Nullable FunctionCache cache;
+	private volatile boolean cacheCreated;
+
 	public Function(Signature<T> sign) {
 		this.sign = sign;
 	}
 
+	/**
+	 * Gets the cache of the results of this function, which is only present for {@link FunctionModifier#PURE pure} functions
+	 * while caching is enabled in the config.
+	 * @return The cache of this function, or null if the results of this function are not cached.
+	 */
+	public @Nullable FunctionCache getCache() {
+		if (!cacheCreated) {
+			synchronized (this) {
+				if (!cacheCreated) {
+					if (sign.hasModifier(FunctionModifier.PURE))
+						cache = FunctionCache.create();
+					cacheCreated = true;
+				}
+			}
+		}
+		return cache;
+	}
+
 	/**
 	 * Gets signature of this function that contains all metadata about it.
 	 * @return A function signature.
@@ -147,6 +170,14 @@ public abstract class Function<T> implements org.skriptlang.skript.common.functi
 			i++;
 		}
 
+		FunctionCache cache = getCache();
+		if (cache != null) {
+			FunctionCache.Result result = cache.get(parameterValues);
+			if (result != null)
+				//noinspection unchecked
+				return (T[]) result.copy();
+		}
+
 		// Execute function contents
 		T[] r = execute(event, parameterValues);
 		// Assert that return value type makes sense
@@ -157,7 +188,10 @@ public abstract class Function<T> implements org.skriptlang.skript.common.functi
 
 		// If return value is empty array, return null
 		// Otherwise, return the value (nullable)
-		return r == null || r.length > 0 ? r : null;
+		r = r == null || r.length > 0 ? r : null;
+		if (cache != null && returnedKeys() == null)
+			cache.put(parameterValues, r);
+		return r;
 	}
 
 	private KeyedValue<Object> @Nullable [] convertToKeyed(Object[] values) {
@@ -2,6 +2,7 @@ package ch.njol.skript.lang.function;
 
 import org.bukkit.event.Event;
 import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.Nullable;
 
 public final class FunctionEvent<T> extends Event {
 	
@@ -9,6 +10,14 @@ public final class FunctionEvent<T> extends Event {
 	private final static HandlerList handlers = new HandlerList();
 	
 	private final Function<? extends T> function;
+
+	/*
+	 * The values returned by a ScriptFunction during this call, see ScriptFunction#returnValues.
+	 * Kept in the event of the call so that returning does not require thread-local state.
+	 */
+	boolean returned;
+	Object @Nullable [] returnValues;
+	String @Nullable [] returnKeys;
 	
 	public FunctionEvent(Function<? extends T> function) {
 		this.function = function;
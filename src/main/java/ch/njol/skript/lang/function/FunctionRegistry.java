@@ -109,7 +109,7 @@ public final class FunctionRegistry implements Registry<Function<?>> {
 		// since we are getting a set and then updating it,
 		// avoid race conditions by ensuring only one thread can access this namespace for this operation
 		synchronized (ns) {
-			Set<FunctionIdentifier> identifiersWithName = ns.identifiers.computeIfAbsent(identifier.name, s -> new HashSet<>());
+			Set<FunctionIdentifier> identifiersWithName = ns.identifiers.computeIfAbsent(identifier.name, s -> ConcurrentHashMap.newKeySet());
 			boolean exists = identifiersWithName.add(identifier);
 			if (!exists) {
 				alreadyRegisteredError(signature.getName(), identifier, namespaceId);
@@ -653,17 +653,17 @@ public final class FunctionRegistry implements Registry<Function<?>> {
 		/**
 		 * Map for all function names to their identifiers, allowing for quicker lookup.
 		 */
-		private final Map<String, Set<FunctionIdentifier>> identifiers = new HashMap<>();
+		private final Map<String, Set<FunctionIdentifier>> identifiers = new ConcurrentHashMap<>();
 
 		/**
 		 * Map for all identifier to function combinations.
 		 */
-		private final Map<FunctionIdentifier, Function<?>> functions = new HashMap<>();
+		private final Map<FunctionIdentifier, Function<?>> functions = new ConcurrentHashMap<>();
 
 		/**
 		 * Map for all identifier to signature combinations.
 		 */
-		private final Map<FunctionIdentifier, Signature<?>> signatures = new HashMap<>();
+		private final Map<FunctionIdentifier, Signature<?>> signatures = new ConcurrentHashMap<>();
 
 	}
 
@@ -14,6 +14,7 @@ import org.skriptlang.skript.common.function.Parameter;
 import org.skriptlang.skript.lang.script.Script;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -29,12 +30,40 @@ public abstract class Functions {
 
 	private Functions() {}
 
+	/**
+	 * The function that was last started or finished loading on any thread.
+	 * @deprecated Scripts may be loaded in parallel, so this may belong to another thread's function.
+	 * It is only kept up to date for compatibility, and changing it has no effect. Use {@link #getCurrentFunction()} instead.
+	 */
+	@Deprecated(since = "2.15", forRemoval = true)
 	public static @Nullable ScriptFunction<?> currentFunction = null;
 
+	/**
+	 * The function that is being loaded on the current thread.
+	 * This is thread-local as scripts may be loaded in parallel.
+	 */
+	private static final ThreadLocal<ScriptFunction<?>> localFunction = new ThreadLocal<>();
+
+	/**
+	 * @return The function that is currently being loaded on this thread, or null if no function is being loaded.
+	 */
+	public static @Nullable ScriptFunction<?> getCurrentFunction() {
+		return localFunction.get();
+	}
+
+	static void setCurrentFunction(@Nullable ScriptFunction<?> function) {
+		if (function == null) {
+			localFunction.remove();
+		} else {
+			localFunction.set(function);
+		}
+		currentFunction = function;
+	}
+
 	/**
 	 * Function namespaces.
 	 */
-	private static final Map<Namespace.Key, Namespace> namespaces = new HashMap<>();
+	private static final Map<Namespace.Key, Namespace> namespaces = new ConcurrentHashMap<>();
 
 	/**
 	 * Namespace of Java functions.
@@ -49,7 +78,7 @@ public abstract class Functions {
 	/**
 	 * Namespaces of functions that are globally available.
 	 */
-	private static final Map<String, Namespace> globalFunctions = new HashMap<>();
+	private static final Map<String, Namespace> globalFunctions = new ConcurrentHashMap<>();
 
 	public static boolean callFunctionEvents = false;
 
@@ -339,7 +368,7 @@ public abstract class Functions {
 		return namespaces.get(new Namespace.Key(Namespace.Origin.SCRIPT, script));
 	}
 
-	private final static Collection<FunctionReference<?>> toValidate = new ArrayList<>();
+	private final static Collection<FunctionReference<?>> toValidate = Collections.synchronizedList(new ArrayList<>());
 
 	@Deprecated(since = "2.7.0", forRemoval = true)
 	public static int clearFunctions(String script) {
@@ -355,11 +384,11 @@ public abstract class Functions {
 		// Queue references to signatures we have for revalidation
 		// Can't validate here, because other scripts might be loaded soon
 		for (Signature<?> sign : namespace.getSignatures()) {
-			for (FunctionReference<?> ref : sign.calls()) {
+			sign.calls().forEach(ref -> {
 				if (!script.equals(ref.namespace())) {
 					toValidate.add(ref);
 				}
-			}
+			});
 		}
 		return namespace.getSignatures().size();
 	}
@@ -382,16 +411,18 @@ public abstract class Functions {
 			}
 		}
 
-		for (FunctionReference<?> ref : signature.calls()) {
+		signature.calls().forEach(ref -> {
 			if (signature.namespace() != null && !signature.namespace().equals(ref.namespace()))
 				toValidate.add(ref);
-		}
+		});
 	}
 
 	public static void validateFunctions() {
-		for (FunctionReference<?> c : toValidate)
-			c.validate();
-		toValidate.clear();
+		synchronized (toValidate) {
+			for (FunctionReference<?> c : toValidate)
+				c.validate();
+			toValidate.clear();
+		}
 	}
 
 	/**
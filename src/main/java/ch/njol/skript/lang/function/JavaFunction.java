@@ -10,6 +10,7 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 import org.skriptlang.skript.common.function.DefaultFunction;
 import org.skriptlang.skript.common.function.FunctionArguments;
+import org.skriptlang.skript.common.function.FunctionModifier;
 import org.skriptlang.skript.common.function.Parameters;
 
 import java.util.Collections;
@@ -116,6 +117,17 @@ public abstract class JavaFunction<T> extends Function<T> implements Documentabl
 	private String @Nullable [] keywords;
 	private @Nullable String since = null;
 
+	/**
+	 * Adds modifiers to this function, e.g. {@link FunctionModifier#PURE}.
+	 * This must be done before the function is registered.
+	 *
+	 * @return This JavaFunction object
+	 */
+	public JavaFunction<T> modifiers(FunctionModifier... modifiers) {
+		getSignature().addModifiers(modifiers);
+		return this;
+	}
+
 	/**
 	 * Only used for Skript's documentation.
 	 *
@@ -3,9 +3,9 @@ package ch.njol.skript.lang.function;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Contains a set of functions.
@@ -133,8 +133,8 @@ public class Namespace {
 	private final Map<Info, Function<?>> functions;
 
 	public Namespace() {
-		this.signatures = new HashMap<>();
-		this.functions = new HashMap<>();
+		this.signatures = new ConcurrentHashMap<>();
+		this.functions = new ConcurrentHashMap<>();
 	}
 
 	public @Nullable Signature<?> getSignature(String name, boolean local) {
@@ -148,17 +148,13 @@ public class Namespace {
 
 	public void addSignature(Signature<?> sign) {
 		Info info = new Info(sign.getName(), sign.isLocal());
-		if (signatures.containsKey(info))
+		if (signatures.putIfAbsent(info, sign) != null)
 			throw new IllegalArgumentException("function name already used");
-		signatures.put(info, sign);
 	}
 
 	public boolean removeSignature(Signature<?> sign) {
 		Info info = new Info(sign.getName(), sign.isLocal());
-		if (signatures.get(info) != sign)
-			return false;
-		signatures.remove(info);
-		return true;
+		return signatures.remove(info, sign);
 	}
 	
 	@SuppressWarnings("null")
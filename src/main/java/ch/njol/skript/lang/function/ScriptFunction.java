@@ -6,28 +6,47 @@ import ch.njol.skript.lang.parser.ParserInstance;
 import ch.njol.skript.lang.util.SimpleEvent;
 import ch.njol.skript.util.Utils;
 import ch.njol.skript.variables.HintManager;
+import ch.njol.skript.variables.LocalVariableSlot;
 import ch.njol.skript.variables.Variables;
 import org.bukkit.event.Event;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.skriptlang.skript.common.function.FunctionArguments;
 import org.skriptlang.skript.common.function.Parameter;
-import org.skriptlang.skript.common.function.Parameters;
-
-import java.util.Arrays;
 
 public class ScriptFunction<T> extends Function<T> implements ReturnHandler<T> {
 
 	private final Trigger trigger;
 
+	/**
+	 * The parameters of this function, and the slots of their local variables.
+	 * The slot of a list parameter is null.
+	 */
+	private final Parameter<?>[] parameters;
+	private final @Nullable LocalVariableSlot[] parameterSlots;
+
+	/*
+	 * Values are usually returned through the FunctionEvent of the call.
+	 * These are only used for values returned with another event, e.g. from within a section,
+	 * and to pass returned keys to returnedKeys().
+	 */
 	private final ThreadLocal<Boolean> returnValueSet = ThreadLocal.withInitial(() -> false);
 	private final ThreadLocal<T @Nullable []> returnValues = new ThreadLocal<>();
 	private final ThreadLocal<String @Nullable []> returnKeys = new ThreadLocal<>();
+	// whether the thread locals have ever been used, so they don't need to be checked otherwise
+	private volatile boolean usesReturnValueThreadLocals, usesReturnKeyThreadLocal;
 
 	public ScriptFunction(Signature<T> sign, SectionNode node) {
 		super(sign);
 
-		Functions.currentFunction = this;
+		parameters = sign.parameters().all();
+		parameterSlots = new LocalVariableSlot[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			if (parameters[i].isSingle())
+				parameterSlots[i] = LocalVariableSlot.of(parameters[i].name());
+		}
+
+		Functions.setCurrentFunction(this);
 		HintManager hintManager = ParserInstance.get().getHintManager();
 		try {
 			hintManager.enterScope(false);
@@ -45,7 +64,7 @@ public class ScriptFunction<T> extends Function<T> implements ReturnHandler<T> {
 			trigger = loadReturnableTrigger(node, "function " + sign.getName(), new SimpleEvent());
 		} finally {
 			hintManager.exitScope();
-			Functions.currentFunction = null;
+			Functions.setCurrentFunction(null);
 		}
 		trigger.setLineNumber(node.getLine());
 	}
@@ -54,70 +73,37 @@ public class ScriptFunction<T> extends Function<T> implements ReturnHandler<T> {
 	// REM: use patterns, e.g. {_a%b%} is like "a.*", and thus subsequent {_axyz} may be set and of that type.
 	@Override
 	public T @Nullable [] execute(FunctionEvent<?> event, Object[][] params) {
-		int i = 0;
-		for (Parameter<?> parameter :  getSignature().parameters().all()) {
+		for (int i = 0; i < parameters.length; i++) {
 			Object[] val = params[i];
-			if (parameter.isSingle() && val.length > 0) {
-				Variables.setVariable(parameter.name(), val[0], event, true);
-				i++;
-				continue;
-			}
-
-			boolean keyed = Arrays.stream(val).allMatch(it -> it instanceof KeyedValue<?>);
-			if (keyed) {
-				for (Object value : val) {
-					KeyedValue<?> keyedValue = (KeyedValue<?>) value;
-					Variables.setVariable(parameter.name() + Variable.SEPARATOR + keyedValue.key(), keyedValue.value(), event, true);
-				}
+			if (parameters[i].isSingle() && val.length > 0) {
+				setParameter(event, i, val[0]);
 			} else {
-				int count = 0;
-				for (Object value : val) {
-					// backup for if the passed argument is not a keyed value.
-					// an example of this is passing `xs: integers = (1, 2)` as a parameter.
-					Variables.setVariable(parameter.name() + Variable.SEPARATOR + count, value, event, true);
-					count++;
-				}
+				setListParameter(event, i, val);
 			}
-			i++;
 		}
 
 		trigger.execute(event);
-		return type() != null ? returnValues.get() : null;
+		return type() != null ? takeReturnValues(event) : null;
 	}
 
 	@Override
 	public T execute(@NotNull FunctionEvent<?> event, @NotNull FunctionArguments arguments) {
-		Parameters parameters = getSignature().parameters();
-		FunctionEvent<?> newEvent = new FunctionEvent<>(this);
-
-		for (String name : arguments.names()) {
-			Parameter<?> parameter = parameters.get(name);
-			Object value = arguments.get(name);
-
-			if (value == null) {
+		// the event is created for this call, so it can hold the local variables of the function
+		for (int i = 0; i < parameters.length; i++) {
+			Object value = arguments.get(parameters[i].name());
+			if (value == null)
 				continue;
-			}
 
-			if (parameter.isSingle()) {
-				Variables.setVariable(name, value, newEvent, true);
+			if (parameters[i].isSingle()) {
+				setParameter(event, i, value);
 			} else {
-				if (value instanceof KeyedValue<?>[] keyedValues) {
-					for (KeyedValue<?> keyedValue : keyedValues) {
-						Variables.setVariable(name + "::" + keyedValue.key(), keyedValue.value(), newEvent, true);
-					}
-				} else {
-					int i = 0;
-					for (Object o : (Object[]) value) {
-						Variables.setVariable(name + "::" + i, o, newEvent, true);
-						i++;
-					}
-				}
+				setListParameter(event, i, (Object[]) value);
 			}
 		}
 
-		trigger.execute(newEvent);
+		trigger.execute(event);
 
-		T[] vs = returnValues.get();
+		T[] vs = takeReturnValues(event);
 		if (type() == null || vs == null || vs.length == 0) {
 			return null;
 		}
@@ -130,26 +116,95 @@ public class ScriptFunction<T> extends Function<T> implements ReturnHandler<T> {
 		}
 	}
 
+	private void setParameter(Event event, int index, Object value) {
+		LocalVariableSlot slot = parameterSlots[index];
+		if (slot != null) {
+			slot.set(event, value);
+		} else {
+			Variables.setVariable(parameters[index].name(), value, event, true);
+		}
+	}
+
+	private void setListParameter(Event event, int index, Object[] values) {
+		if (values.length == 0)
+			return;
+
+		String[] indices = null;
+		if (values instanceof KeyedValue<?>[] || isKeyed(values)) {
+			indices = new String[values.length];
+			Object[] unkeyed = new Object[values.length];
+			for (int i = 0; i < values.length; i++) {
+				KeyedValue<?> keyedValue = (KeyedValue<?>) values[i];
+				indices[i] = keyedValue.key();
+				unkeyed[i] = keyedValue.value();
+			}
+			values = unkeyed;
+		}
+		// if the values are not keyed, e.g. when passing `xs: integers = (1, 2)`, they are indexed starting at 0
+		Variables.setLocalList(parameters[index].name(), indices, values, event);
+	}
+
+	private static boolean isKeyed(Object[] values) {
+		for (Object value : values) {
+			if (!(value instanceof KeyedValue<?>))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Takes the values returned by a call of this function from its event, or from the thread locals
+	 * if they were returned with another event. Returned keys are moved to the thread local for {@link #returnedKeys()}.
+	 */
+	private T @Nullable [] takeReturnValues(FunctionEvent<?> event) {
+		if (event.returned) {
+			if (event.returnKeys != null) {
+				usesReturnKeyThreadLocal = true;
+				returnKeys.set(event.returnKeys);
+			}
+			//noinspection unchecked
+			return (T[]) event.returnValues;
+		}
+		return usesReturnValueThreadLocals ? returnValues.get() : null;
+	}
+
 	@Override
 	public @NotNull String @Nullable [] returnedKeys() {
-		return type() != null ? returnKeys.get() : null;
+		return type() != null && usesReturnKeyThreadLocal ? returnKeys.get() : null;
 	}
 
 	@Override
 	public boolean resetReturnValue() {
-		returnValueSet.remove();
-		returnValues.remove();
-		returnKeys.remove();
+		if (usesReturnValueThreadLocals) {
+			returnValueSet.remove();
+			returnValues.remove();
+		}
+		if (usesReturnKeyThreadLocal)
+			returnKeys.remove();
 		return true;
 	}
 
 	@Override
 	public final void returnValues(Event event, Expression<? extends T> value) {
+		T[] values = value.getArray(event);
+		// keys must be requested after the values
+		String[] keys = KeyProviderExpression.canReturnKeys(value) ? ((KeyProviderExpression<?>) value).getArrayKeys(event) : null;
+		if (event instanceof FunctionEvent<?> functionEvent && functionEvent.getFunction() == this) {
+			assert !functionEvent.returned;
+			functionEvent.returned = true;
+			functionEvent.returnValues = values;
+			functionEvent.returnKeys = keys;
+			return;
+		}
+
+		usesReturnValueThreadLocals = true;
 		assert !returnValueSet.get();
 		returnValueSet.set(true);
-		this.returnValues.set(value.getArray(event));
-		if (KeyProviderExpression.canReturnKeys(value))
-			this.returnKeys.set(((KeyProviderExpression<?>) value).getArrayKeys(event));
+		this.returnValues.set(values);
+		if (keys != null) {
+			usesReturnKeyThreadLocal = true;
+			this.returnKeys.set(keys);
+		}
 	}
 
 	@Override
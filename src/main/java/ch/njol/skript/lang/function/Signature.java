@@ -10,6 +10,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.skriptlang.skript.common.function.FunctionModifier;
 import org.skriptlang.skript.common.function.FunctionReference;
 import org.skriptlang.skript.common.function.Parameter.Modifier;
 import org.skriptlang.skript.common.function.Parameters;
@@ -55,6 +56,7 @@ public class Signature<T> implements org.skriptlang.skript.common.function.Signa
 
 	/**
 	 * References (function calls) to function with this signature.
+	 * Synchronized, as references are added while scripts are loaded in parallel.
 	 */
 	final Collection<FunctionReference<?>> calls;
 
@@ -63,6 +65,11 @@ public class Signature<T> implements org.skriptlang.skript.common.function.Signa
 	 */
 	final @Nullable Contract contract;
 
+	/**
+	 * The modifiers of this function, e.g. {@link FunctionModifier#PURE}.
+	 */
+	private final Set<FunctionModifier> modifiers = new HashSet<>();
+
 	/**
 	 * The class path for the origin of this signature.
 	 */
@@ -89,7 +96,7 @@ public class Signature<T> implements org.skriptlang.skript.common.function.Signa
 			this.returns = getReturns(single, returnType.getC());
 		}
 		this.contract = contract;
-		this.calls = Collections.newSetFromMap(new WeakHashMap<>());
+		this.calls = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
 		this.originClassPath = "";
 	}
 
@@ -119,7 +126,7 @@ public class Signature<T> implements org.skriptlang.skript.common.function.Signa
 			this.single = true;
 		}
 		this.contract = contract;
-		this.calls = Collections.newSetFromMap(new WeakHashMap<>());
+		this.calls = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
 	}
 
 	public Signature(@Nullable String script, String name, Parameters parameters, Class<T> returnType, boolean local) {
@@ -190,6 +197,20 @@ public class Signature<T> implements org.skriptlang.skript.common.function.Signa
 		return contract;
 	}
 
+	@Override
+	public @NotNull Set<FunctionModifier> modifiers() {
+		return Collections.unmodifiableSet(modifiers);
+	}
+
+	/**
+	 * Adds modifiers to this signature. This should only be done before the function is registered.
+	 *
+	 * @param modifiers The modifiers to add.
+	 */
+	public void addModifiers(FunctionModifier... modifiers) {
+		Collections.addAll(this.modifiers, modifiers);
+	}
+
 	@Override
 	public void addCall(FunctionReference<?> reference) {
 		calls.add(reference);
@@ -46,12 +46,48 @@ public abstract class SimpleExpression<T> implements Expression<T>, SyntaxRuntim
 
 	@Override
 	public final @Nullable T getSingle(Event event) {
-		T[] values = getArray(event);
-		if (values.length == 0)
+		return getSingleValue(event);
+	}
+
+	/**
+	 * This is the internal method to get an expression's single value, used by {@link #getSingle(Event)}.
+	 * <p>
+	 * By default, the value is picked from {@link #get(Event)} without copying the array.
+	 * Expressions that are single can override this to compute their value directly without creating an array at all,
+	 * but must return the same value {@link #get(Event)} would contain.
+	 *
+	 * @param event The event with which this expression is evaluated.
+	 * @return The value of this expression for this event, or null if it has none.
+	 * @throws SkriptAPIException If this expression has more than one value.
+	 */
+	protected @Nullable T getSingleValue(Event event) {
+		T[] values = get(event);
+		if (values == null || values.length == 0)
 			return null;
-		if (values.length > 1)
+		if (values.length == 1)
+			return values[0];
+
+		int numNonNull = 0;
+		T single = null;
+		for (T value : values) {
+			if (value != null) {
+				numNonNull++;
+				single = value;
+			}
+		}
+		if (numNonNull <= 1)
+			return single;
+		if (getAnd())
 			throw new SkriptAPIException("Call to getSingle() on a non-single expression");
-		return values[0];
+
+		// pick a random value like getArray does
+		int rand = Utils.random(0, numNonNull);
+		for (T value : values) {
+			if (value != null && rand-- == 0)
+				return value;
+		}
+		assert false;
+		return null;
 	}
 
 	@Override
@@ -8,6 +8,7 @@ import ch.njol.skript.util.Utils;
 import org.bukkit.ChatColor;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.StackWalker.StackFrame;
 import java.util.logging.Level;
 
 public class LogEntry {
@@ -20,7 +21,12 @@ public class LogEntry {
 	@Nullable
 	public final Node node;
 
-	private final String from;
+	/**
+	 * The frame that created this entry, if it is tracked or debug mode is enabled.
+	 * It is only formatted when the entry is printed.
+	 */
+	private final @Nullable StackFrame caller;
+	private final boolean captureCaller;
 	private final boolean tracked;
 
 	private static final String CONFIG_NODE = "skript command.reload";
@@ -61,24 +67,36 @@ public class LogEntry {
 		this.message = message;
 		this.node = node;
 		this.tracked = tracked;
-		from = tracked || Skript.debug() ? findCaller() : "";
+		captureCaller = tracked || Skript.debug();
+		caller = captureCaller ? findCallerFrame() : null;
 	}
 
 	private static final String skriptLogPackageName = "" + SkriptLogger.class.getPackage().getName();
 
+	private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+	/**
+	 * Finds the first frame outside of the logging classes and {@link Skript}, after the first logging frame.
+	 * Only the frames up to the caller are walked, unlike when creating a full stack trace.
+	 */
+	private static @Nullable StackFrame findCallerFrame() {
+		return STACK_WALKER.walk(frames -> frames
+			.dropWhile(frame -> !frame.getClassName().startsWith(skriptLogPackageName))
+			.dropWhile(frame -> frame.getClassName().startsWith(skriptLogPackageName) || frame.getClassName().equals(Skript.class.getName()))
+			.findFirst()
+			.orElse(null));
+	}
+
 	static String findCaller() {
-		StackTraceElement[] es = new Exception().getStackTrace();
-		for (int i = 0; i < es.length; i++) {
-			if (!es[i].getClassName().startsWith(skriptLogPackageName))
-				continue;
-			i++;
-			while (i < es.length - 1 && (es[i].getClassName().startsWith(skriptLogPackageName) || es[i].getClassName().equals(Skript.class.getName())))
-				i++;
-			if (i >= es.length)
-				i = es.length - 1;
-			return " (from " + es[i] + ")";
-		}
-		return " (from an unknown source)";
+		return formatCaller(findCallerFrame());
+	}
+
+	private static String formatCaller(@Nullable StackFrame frame) {
+		return frame == null ? " (from an unknown source)" : " (from " + frame.toStackTraceElement() + ")";
+	}
+
+	private String from() {
+		return captureCaller ? formatCaller(caller) : "";
 	}
 
 	public Level getLevel() {
@@ -98,13 +116,14 @@ public class LogEntry {
 	void discarded(String info) {
 		used = true;
 		if (tracked)
-			SkriptLogger.LOGGER.warning(" # LogEntry '" + message + "'" + from + " discarded" + findCaller() + "; " + (new Exception()).getStackTrace()[1] + "; " + info);
+			SkriptLogger.LOGGER.warning(" # LogEntry '" + message + "'" + from() + " discarded" + findCaller() + "; "
+				+ STACK_WALKER.walk(frames -> frames.skip(1).findFirst().map(StackFrame::toStackTraceElement).orElse(null)) + "; " + info);
 	}
 
 	void logged() {
 		used = true;
 		if (tracked)
-			SkriptLogger.LOGGER.warning(" # LogEntry '" + message + "'" + from + " logged" + findCaller());
+			SkriptLogger.LOGGER.warning(" # LogEntry '" + message + "'" + from() + " logged" + findCaller());
 	}
 
 	@Override
@@ -113,7 +132,7 @@ public class LogEntry {
 			return message;
 
 		Config c = node.getConfig();
-		return message + from + " (" + c.getFileName() + ", line " + node.getLine() + ": " + node.save().trim() + "')";
+		return message + from() + " (" + c.getFileName() + ", line " + node.getLine() + ": " + node.save().trim() + "')";
 	}
 
 	public String toFormattedString() {
@@ -140,7 +159,7 @@ public class LogEntry {
 			return String.format(detailsMsg.replaceAll("^\\s+", ""), message); // Remove line beginning spaces
 
 		Config c = node.getConfig();
-		String from = this.from;
+		String from = from();
 
 		if (!from.isEmpty())
 			from = ChatColor.GRAY + "   " + from + "\n";
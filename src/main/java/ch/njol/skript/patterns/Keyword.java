@@ -3,6 +3,7 @@ package ch.njol.skript.patterns;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableSet;
 import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -26,6 +27,14 @@ abstract class Keyword {
 	 */
 	abstract boolean isPresent(String expr);
 
+	/**
+	 * @return A string that must be contained in an expression for this keyword to be present,
+	 *  or null if there is no single such string.
+	 */
+	@Nullable String getRequiredString() {
+		return null;
+	}
+
 	/**
 	 * Builds a list of keywords starting from the provided pattern element.
 	 * @param first The pattern to build keywords from.
@@ -99,6 +108,11 @@ abstract class Keyword {
 			return expr.contains(keyword);
 		}
 
+		@Override
+		String getRequiredString() {
+			return keyword;
+		}
+
 		@Override
 		public int hashCode() {
 			return Objects.hash(keyword, starting, ending);
@@ -28,11 +28,8 @@ public class SkriptPattern {
 	@Nullable
 	public MatchResult match(String expr, int flags, ParseContext parseContext) {
 		// Matching shortcut
-		String lowerExpr = expr.toLowerCase(Locale.ENGLISH);
-		for (Keyword keyword : keywords) {
-			if (!keyword.isPresent(lowerExpr))
-				return null;
-		}
+		if (!keywordsPresent(expr.toLowerCase(Locale.ENGLISH)))
+			return null;
 
 		expr = expr.trim();
 
@@ -50,6 +47,36 @@ public class SkriptPattern {
 		return match(expr, SkriptParser.ALL_FLAGS, ParseContext.DEFAULT);
 	}
 
+	/**
+	 * Checks whether all literal keywords required by this pattern are present in the given expression.
+	 * If not, this pattern cannot {@link #match(String, int, ParseContext) match} the expression.
+	 * This check is much cheaper than actually matching the pattern.
+	 *
+	 * @param lowerExpr The expression, lower-cased using {@link Locale#ENGLISH}.
+	 * @return Whether the expression may match this pattern.
+	 */
+	public boolean keywordsPresent(String lowerExpr) {
+		for (Keyword keyword : keywords) {
+			if (!keyword.isPresent(lowerExpr))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return The literal strings that an expression must contain to {@link #match(String, int, ParseContext) match}
+	 *  this pattern. Required keywords that allow a choice of strings are not included.
+	 */
+	public String[] getRequiredStrings() {
+		List<String> strings = new ArrayList<>(keywords.length);
+		for (Keyword keyword : keywords) {
+			String string = keyword.getRequiredString();
+			if (string != null)
+				strings.add(string);
+		}
+		return strings.toArray(new String[0]);
+	}
+
 	@Override
 	public String toString() {
 		return first.toFullString();
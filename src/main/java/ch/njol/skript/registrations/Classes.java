@@ -53,10 +53,50 @@ public abstract class Classes {
 	private static ClassInfo<?>[] classInfos = null;
 	private final static List<ClassInfo<?>> tempClassInfos = new ArrayList<>();
 	private final static HashMap<Class<?>, ClassInfo<?>> exactClassInfos = new HashMap<>();
-	private final static HashMap<Class<?>, ClassInfo<?>> superClassInfos = new HashMap<>();
 	private final static HashMap<String, ClassInfo<?>> classInfosByCodeName = new HashMap<>();
 	private final static Map<String, List<ClassInfo<?>>> registeredLiteralPatterns = new HashMap<>();
 
+	/**
+	 * The class infos and parser resolved for each class.
+	 * Only used once the class infos have been {@link #sortClassInfos() sorted}, as they cannot change afterwards.
+	 * Unlike a map, lookups are thread-safe without locking.
+	 */
+	private static final ClassValue<ResolvedClass> resolvedClasses = new ClassValue<>() {
+		@Override
+		protected ResolvedClass computeValue(Class<?> type) {
+			return new ResolvedClass(type);
+		}
+	};
+
+	private static final class ResolvedClass {
+
+		private static final Object UNRESOLVED = new Object();
+
+		final Class<?> type;
+		final @Nullable ClassInfo<?> exactClassInfo;
+		final @Nullable ClassInfo<?> superClassInfo;
+
+		/**
+		 * The result of {@link #findParser(Class)}, or {@link #UNRESOLVED}.
+		 * Resolved lazily, as it is only needed for a few classes.
+		 */
+		private volatile @Nullable Object parser = UNRESOLVED;
+
+		ResolvedClass(Class<?> type) {
+			this.type = type;
+			exactClassInfo = exactClassInfos.get(type);
+			superClassInfo = exactClassInfo != null ? exactClassInfo : findSuperClassInfo(type);
+		}
+
+		@Nullable Parser<?> getParser() {
+			Object parser = this.parser;
+			if (parser == UNRESOLVED) // concurrent resolutions give equivalent parsers
+				this.parser = parser = findParser(type);
+			return (Parser<?>) parser;
+		}
+
+	}
+
 	/**
 	 * @param info info about the class to register
 	 */
@@ -283,7 +323,11 @@ public abstract class Classes {
 	@SuppressWarnings("unchecked")
 	@Nullable
 	public static <T> ClassInfo<T> getExactClassInfo(final @Nullable Class<T> c) {
-		return (ClassInfo<T>) exactClassInfos.get(c);
+		if (c == null)
+			return null;
+		if (classInfos == null) // still loading
+			return (ClassInfo<T>) exactClassInfos.get(c);
+		return (ClassInfo<T>) resolvedClasses.get(c).exactClassInfo;
 	}
 
 	/**
@@ -296,18 +340,22 @@ public abstract class Classes {
 	@Contract(pure = true, value = "!null -> !null")
 	public static <T> ClassInfo<? super T> getSuperClassInfo(final Class<T> c) {
 		assert c != null;
-		ClassInfo<? super T> info = getExactClassInfo(c);
-		if (info != null)
+		if (classInfos != null) {
+			ClassInfo<? super T> info = (ClassInfo<? super T>) resolvedClasses.get(c).superClassInfo;
+			assert info != null;
 			return info;
-		info = (ClassInfo<? super T>) superClassInfos.get(c);
+		}
+		ClassInfo<? super T> info = getExactClassInfo(c);
 		if (info != null)
 			return info;
+		return (ClassInfo<? super T>) findSuperClassInfo(c);
+	}
+
+	@Nullable
+	private static ClassInfo<?> findSuperClassInfo(Class<?> c) {
 		for (final ClassInfo<?> ci : getClassInfos()) {
-			if (ci.getC().isAssignableFrom(c)) {
-				if (!Skript.isAcceptRegistrations())
-					superClassInfos.put(c, ci);
-				return (ClassInfo<? super T>) ci;
-			}
+			if (ci.getC().isAssignableFrom(c))
+				return ci;
 		}
 		assert false;
 		return null;
@@ -561,6 +609,14 @@ public abstract class Classes {
 	@Nullable
 	public static <T> Parser<? extends T> getParser(final Class<T> to) {
 		checkAllowClassInfoInteraction();
+		if (classInfos == null)
+			return null;
+		return (Parser<? extends T>) resolvedClasses.get(to).getParser();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nullable
+	private static <T> Parser<? extends T> findParser(final Class<T> to) {
 		final ClassInfo<?>[] classInfos = Classes.classInfos;
 		if (classInfos == null)
 			return null;
@@ -190,7 +190,8 @@ public class StructCommand extends Structure {
 		String arguments = matcher.group(3) == null ? "" : matcher.group(3);
 		StringBuilder pattern = new StringBuilder();
 
-		List<Argument<?>> currentArguments = Commands.currentArguments = new ArrayList<>(); //Mirre
+		List<Argument<?>> currentArguments = new ArrayList<>(); //Mirre
+		Commands.setCurrentArguments(currentArguments);
 		matcher = ARGUMENT_PATTERN.matcher(arguments);
 		int lastEnd = 0;
 		int optionals = 0;
@@ -281,13 +282,13 @@ public class StructCommand extends Structure {
 		if (Skript.debug() || node.debug())
 			Skript.debug("command " + desc + ":");
 
-		Commands.currentArguments = currentArguments;
+		Commands.setCurrentArguments(currentArguments);
 		try {
 			scriptCommand = new ScriptCommand(getParser().getCurrentScript(), command, pattern.toString(), currentArguments, description, prefix,
 				usage, aliases, permission, permissionMessage, cooldown, cooldownMessage, cooldownBypass, cooldownStorage,
 				executableBy, entryContainer.get("trigger", SectionNode.class, false));
 		} finally {
-			Commands.currentArguments = null;
+			Commands.setCurrentArguments(null);
 		}
 
 		if (Skript.logVeryHigh() && !Skript.debug())
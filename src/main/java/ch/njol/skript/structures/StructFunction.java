@@ -39,7 +39,10 @@ import java.util.regex.Pattern;
 @Description({
 	"Functions are structures that can be executed with arguments/parameters to run code.",
 	"They can also return a value to the trigger that is executing the function.",
-	"Note that local functions come before global functions execution"
+	"Note that local functions come before global functions execution",
+	"Functions can be declared as pure if their result only depends on their arguments and they have no side effects. " +
+		"The results of pure functions are cached, so calling them again with the same arguments does not run them again. " +
+		"Only calls whose arguments and result are plain values, such as texts, numbers or timespans, are cached."
 })
 @Example("""
 	function sayMessage(message: text):
@@ -49,11 +52,17 @@ import java.util.regex.Pattern;
 	local function giveApple(amount: number) :: item:
 		return {_amount} of apple
 	""")
+@Example("""
+	pure function fibonacci(n: integer) :: integer:
+		if {_n} <= 1:
+			return {_n}
+		return fibonacci({_n} - 1) + fibonacci({_n} - 2)
+	""")
 @Example("""
 	function getPoints(p: player) returns number:
 		return {points::%{_p}%}
 	""")
-@Since("2.2, 2.7 (local functions)")
+@Since("2.2, 2.7 (local functions), 2.15 (pure functions)")
 public class StructFunction extends Structure {
 
 	public static final Priority PRIORITY = new Priority(400);
@@ -81,12 +90,12 @@ public class StructFunction extends Structure {
 	 * </p>
 	 */
 	private static final Pattern SIGNATURE_PATTERN =
-		Pattern.compile("^(?:local )?function (?<name>" + Functions.functionNamePattern + ")\\((?<args>.*?)\\)(?:\\s*(?:->|::| returns )\\s*(?<returns>.+))?$");
+		Pattern.compile("^(?:local )?(?:pure )?function (?<name>" + Functions.functionNamePattern + ")\\((?<args>.*?)\\)(?:\\s*(?:->|::| returns )\\s*(?<returns>.+))?$");
 	private static final AtomicBoolean VALIDATE_FUNCTIONS = new AtomicBoolean();
 
 	static {
 		Skript.registerStructure(StructFunction.class,
-			"[:local] function <.+>"
+			"[:local] [:pure] function <.+>"
 		);
 	}
 
@@ -94,12 +103,14 @@ public class StructFunction extends Structure {
 	@Nullable
 	private Signature<?> signature;
 	private boolean local;
+	private boolean pure;
 
 	@Override
 	public boolean init(Literal<?>[] literals, int matchedPattern, ParseResult parseResult, @Nullable EntryContainer entryContainer) {
 		assert entryContainer != null; // cannot be null for non-simple structures
 		this.source = entryContainer.getSource();
 		local = parseResult.hasTag("local");
+		pure = parseResult.hasTag("pure");
 		return true;
 	}
 
@@ -120,7 +131,8 @@ public class StructFunction extends Structure {
 		getParser().setCurrentEvent((local ? "local " : "") + "function", FunctionEvent.class);
 		signature = FunctionParser.parse(
 			getParser().getCurrentScript().getConfig().getFileName(),
-			matcher.group("name"), matcher.group("args"), matcher.group("returns"), local
+			matcher.group("name"), matcher.group("args"), matcher.group("returns"), local,
+			pure ? new FunctionModifier[] {FunctionModifier.PURE} : new FunctionModifier[0]
 		);
 		getParser().deleteCurrentEvent();
 
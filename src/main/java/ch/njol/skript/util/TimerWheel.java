@@ -0,0 +1,225 @@
+package ch.njol.skript.util;
+
+import ch.njol.skript.Skript;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A hierarchical timing wheel that runs tasks on the main thread after a delay in ticks.
+ * All tasks due in a tick are run by a single repeating scheduler task,
+ * which is much cheaper than scheduling a task with Bukkit for every delay.
+ * <p>
+ * Tasks can be scheduled from any thread. They are handed to the main thread through a lock-free queue,
+ * and the wheel itself is only ever accessed by the main thread.
+ * Tasks due in the same tick are run in the order they were scheduled in.
+ */
+public final class TimerWheel {
+
+	private static final boolean CURRENT_TICK_EXISTS = Skript.methodExists(Bukkit.class, "getCurrentTick");
+
+	private static final int SLOT_BITS = 6;
+	private static final int SLOTS = 1 << SLOT_BITS;
+	private static final int SLOT_MASK = SLOTS - 1;
+	private static final int LEVELS = 4;
+
+	private final ConcurrentLinkedQueue<Entry> incoming = new ConcurrentLinkedQueue<>();
+	private final AtomicLong sequence = new AtomicLong();
+	private final LongAdder pending = new LongAdder();
+
+	/**
+	 * The slots of each level. Level {@code n} holds tasks that are due in less than {@code 64^(n+1)} ticks,
+	 * and its slots each span {@code 64^n} ticks. Tasks are moved to lower levels as their tick approaches.
+	 */
+	private final Entry[][] heads = new Entry[LEVELS][SLOTS];
+	private final Entry[][] tails = new Entry[LEVELS][SLOTS];
+
+	/**
+	 * The tasks due in the tick being processed, reused for every tick.
+	 */
+	private final List<Entry> due = new ArrayList<>();
+
+	/**
+	 * The last tick that was processed by this wheel.
+	 */
+	private volatile long currentTick;
+	private boolean started;
+
+	private volatile @Nullable BukkitTask task;
+
+	/**
+	 * Schedules a task to run on the main thread.
+	 *
+	 * @param runnable The task to run.
+	 * @param delay The delay in ticks, at least one tick.
+	 */
+	public void schedule(Runnable runnable, long delay) {
+		submit(runnable, now() + Math.max(delay, 1));
+		BukkitTask task = this.task;
+		if (task == null || task.isCancelled())
+			start();
+	}
+
+	/**
+	 * @return The amount of tasks that were scheduled but have not run yet.
+	 */
+	public long getPendingCount() {
+		return pending.sum();
+	}
+
+	private synchronized void start() {
+		BukkitTask task = this.task;
+		if (task != null && !task.isCancelled())
+			return;
+		started = false;
+		this.task = Bukkit.getScheduler().runTaskTimer(Skript.getInstance(), this::tick, 1, 1);
+	}
+
+	/**
+	 * Advances the wheel by one server tick, and stops the repeating task once no tasks are left.
+	 * {@link #schedule(Runnable, long)} starts it again.
+	 */
+	private void tick() {
+		advanceTo(CURRENT_TICK_EXISTS ? now() : currentTick + 1);
+		if (getPendingCount() != 0)
+			return;
+		BukkitTask task = this.task;
+		if (task != null)
+			task.cancel();
+		// a task may have been scheduled after the check, but before it could see the cancelled task
+		if (getPendingCount() != 0)
+			start();
+	}
+
+	/**
+	 * @return The tick that tasks scheduled now are relative to.
+	 * This is the current server tick if it is available, otherwise the last tick processed by this wheel.
+	 */
+	private long now() {
+		if (!CURRENT_TICK_EXISTS)
+			return currentTick;
+		// the server's tick is an int that may wrap around, so only its distance to the last processed tick is used
+		long current = currentTick;
+		return current + (Bukkit.getCurrentTick() - (int) current);
+	}
+
+	/**
+	 * Adds a task that should run in the given tick.
+	 */
+	void submit(Runnable runnable, long dueTick) {
+		pending.increment();
+		incoming.add(new Entry(runnable, dueTick, sequence.getAndIncrement()));
+	}
+
+	/**
+	 * Runs all tasks that are due up to and including the given tick. Must only be called by a single thread.
+	 * If the given tick is before the last processed tick, the wheel advances by a single tick instead,
+	 * so tasks keep running if the source of the ticks goes backwards.
+	 */
+	void advanceTo(long tick) {
+		if (!started) {
+			// tasks scheduled before the first run are relative to the tick before it
+			started = true;
+			currentTick = tick - 1;
+		} else if (tick < currentTick) {
+			tick = currentTick + 1;
+		}
+		if (incoming.isEmpty() && getPendingCount() == 0) {
+			currentTick = Math.max(currentTick, tick);
+			return;
+		}
+		while (currentTick < tick) {
+			long next = currentTick + 1;
+			Entry entry;
+			while ((entry = incoming.poll()) != null)
+				insert(entry, next);
+
+			// move tasks of the higher levels whose range starts at this tick down
+			for (int level = 1; level < LEVELS && (next & ((1L << (SLOT_BITS * level)) - 1)) == 0; level++) {
+				int slot = (int) (next >>> (SLOT_BITS * level)) & SLOT_MASK;
+				entry = heads[level][slot];
+				heads[level][slot] = tails[level][slot] = null;
+				while (entry != null) {
+					Entry following = entry.next;
+					entry.next = null;
+					insert(entry, next);
+					entry = following;
+				}
+			}
+
+			int slot = (int) next & SLOT_MASK;
+			entry = heads[0][slot];
+			heads[0][slot] = tails[0][slot] = null;
+			while (entry != null) {
+				Entry following = entry.next;
+				entry.next = null;
+				if (entry.dueTick <= next) {
+					due.add(entry);
+				} else {
+					insert(entry, next);
+				}
+				entry = following;
+			}
+			currentTick = next;
+
+			if (due.isEmpty())
+				continue;
+			// tasks moved down from higher levels may be out of order
+			for (int i = 1; i < due.size(); i++) {
+				if (due.get(i - 1).sequence > due.get(i).sequence) {
+					due.sort((a, b) -> Long.compare(a.sequence, b.sequence));
+					break;
+				}
+			}
+			for (Entry run : due) {
+				pending.decrement();
+				try {
+					run.runnable.run();
+				} catch (Throwable throwable) {
+					Skript.exception(throwable, "Exception while running a delayed task");
+				}
+			}
+			due.clear();
+		}
+	}
+
+	/**
+	 * Inserts an entry into the slot it belongs to, relative to the tick that is being processed.
+	 */
+	private void insert(Entry entry, long tick) {
+		long delta = Math.max(entry.dueTick - tick, 0);
+		int level = 0;
+		while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1)))
+			level++;
+		int slot = (int) (Math.max(entry.dueTick, tick) >>> (SLOT_BITS * level)) & SLOT_MASK;
+		Entry tail = tails[level][slot];
+		if (tail == null) {
+			heads[level][slot] = entry;
+		} else {
+			tail.next = entry;
+		}
+		tails[level][slot] = entry;
+	}
+
+	private static final class Entry {
+
+		final Runnable runnable;
+		final long dueTick;
+		final long sequence;
+		@Nullable Entry next;
+
+		Entry(Runnable runnable, long dueTick, long sequence) {
+			this.runnable = runnable;
+			this.dueTick = dueTick;
+			this.sequence = sequence;
+		}
+
+	}
+
+}
@@ -0,0 +1,56 @@
+package ch.njol.skript.util.chat;
+
+import ch.njol.skript.ServerPlatform;
+import ch.njol.skript.Skript;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.bungeecord.BungeeComponentSerializer;
+import net.md_5.bungee.api.chat.BaseComponent;
+import org.bukkit.command.CommandSender;
+
+import java.util.Collection;
+
+/**
+ * Sends the same components to many receivers.
+ * <p>
+ * On Paper, the components are converted to a single Adventure {@link Component} once,
+ * which is then sent to all receivers through one forwarding {@link Audience},
+ * instead of every receiver converting the Bungee components on its own.
+ */
+public final class ChatBroadcaster {
+
+	private static final boolean USE_ADVENTURE = Skript.getServerPlatform() == ServerPlatform.BUKKIT_PAPER
+		&& Skript.classExists("net.kyori.adventure.text.serializer.bungeecord.BungeeComponentSerializer");
+
+	private ChatBroadcaster() {}
+
+	/**
+	 * Sends the given components to all receivers.
+	 *
+	 * @param receivers The receivers of the message.
+	 * @param components The message. It is not modified.
+	 */
+	public static void send(Collection<? extends CommandSender> receivers, BaseComponent... components) {
+		if (receivers.isEmpty())
+			return;
+		if (USE_ADVENTURE && receivers.size() > 1) {
+			AdventureSender.send(receivers, components);
+			return;
+		}
+		for (CommandSender receiver : receivers)
+			receiver.spigot().sendMessage(components);
+	}
+
+	/**
+	 * Separate class so Adventure is only loaded if it's available.
+	 */
+	private static final class AdventureSender {
+
+		static void send(Collection<? extends CommandSender> receivers, BaseComponent[] components) {
+			Component component = BungeeComponentSerializer.get().deserialize(components);
+			Audience.audience(receivers).sendMessage(component);
+		}
+
+	}
+
+}
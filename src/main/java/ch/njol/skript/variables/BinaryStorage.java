@@ -0,0 +1,977 @@
+package ch.njol.skript.variables;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.classes.ClassInfo;
+import ch.njol.skript.classes.Serializer;
+import ch.njol.skript.config.SectionNode;
+import ch.njol.skript.lang.Variable;
+import ch.njol.skript.log.SkriptLogger;
+import ch.njol.skript.registrations.Classes;
+import ch.njol.skript.util.ExceptionUtils;
+import ch.njol.skript.util.FileUtils;
+import ch.njol.skript.util.Task;
+import ch.njol.skript.util.Version;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * A variable storage that stores its content in a compact binary file.
+ * <p>
+ * The file starts with the {@link #MAGIC magic number} and the {@link #FORMAT_VERSION format version},
+ * followed by length-prefixed records. Each record consists of a tag byte, the length of its payload as a
+ * variable-length integer, and the payload itself:
+ * <ul>
+ * 	<li>{@link #RECORD_STRING}: a string of the string table, as UTF-8.
+ * 	Strings are numbered in the order they appear in the file.</li>
+ * 	<li>{@link #RECORD_VARIABLE}: the string index of the name prefix (the name up to and including its last
+ * 	{@link Variable#SEPARATOR}) plus one, or zero if there is none, the length and UTF-8 bytes of the rest of the name,
+ * 	the string index of the type name, and the serialized value.</li>
+ * 	<li>{@link #RECORD_DELETION}: the name prefix as above, followed by the UTF-8 bytes of the rest of the name.</li>
+ * </ul>
+ * Like the {@link FlatFileStorage CSV storage}, changes are appended to the file, later records overriding
+ * earlier ones, and the file is rewritten every once in a while.
+ * <p>
+ * The file is loaded through memory mapping, and values are deserialized in parallel
+ * if their {@link Serializer} allows it. If the file is empty, the variables of the CSV file set as
+ * {@code import} in the database configuration are converted into it once.
+ */
+public class BinaryStorage extends VariablesStorage {
+
+	/**
+	 * The magic number of a binary variables file, {@code SKVB} in ASCII.
+	 */
+	static final int MAGIC = 0x534B5642;
+
+	/**
+	 * The version of the file format.
+	 */
+	static final byte FORMAT_VERSION = 1;
+
+	/**
+	 * The size of the {@link #MAGIC magic number} and {@link #FORMAT_VERSION format version} in bytes.
+	 */
+	static final int HEADER_SIZE = 5;
+
+	static final byte RECORD_STRING = 0, RECORD_VARIABLE = 1, RECORD_DELETION = 2;
+
+	/**
+	 * The delay for the save task.
+	 */
+	private static final long SAVE_TASK_DELAY = 5 * 60 * 20;
+
+	/**
+	 * The period for the save task, how long (in ticks) between each save.
+	 */
+	private static final long SAVE_TASK_PERIOD = 5 * 60 * 20;
+
+	/**
+	 * The writer appending changes to the {@link #file}.
+	 * Only accessed while holding the {@link #connectionLock}.
+	 */
+	@Nullable
+	private RecordWriter writer;
+
+	/**
+	 * The string table of the {@link #file}, used to reopen the {@link #writer}.
+	 * Only accessed while holding the {@link #connectionLock}.
+	 */
+	private Map<String, Integer> strings = new HashMap<>();
+
+	/**
+	 * The amount of variable changes written since the last full save.
+	 */
+	private final AtomicInteger changes = new AtomicInteger(0);
+
+	/**
+	 * The save task.
+	 *
+	 * @see #changes
+	 * @see #saveVariables(boolean)
+	 */
+	@Nullable
+	private Task saveTask;
+
+	/**
+	 * Whether there was an error while loading variables.
+	 * <p>
+	 * Set back to {@code false} when a backup has been made
+	 * of the variable file that caused the error.
+	 */
+	private boolean loadError = false;
+
+	/**
+	 * Create a new binary storage of the given name.
+	 *
+	 * @param type the database type i.e. binary.
+	 */
+	BinaryStorage(String type) {
+		super(type);
+	}
+
+	/**
+	 * Loads the variables in the binary file.
+	 * <p>
+	 * Doesn't lock the connection, as required by
+	 * {@link Variables#variableLoaded(String, Object, VariablesStorage)}.
+	 */
+	@Override
+	protected boolean load_i(SectionNode sectionNode) {
+		SkriptLogger.setNode(null);
+
+		if (file == null) {
+			assert false : this;
+			return false;
+		}
+
+		if (file.length() == 0 && sectionNode.get("import") != null) {
+			String importFile = getValue(sectionNode, "import");
+			if (importFile == null)
+				return false;
+			if (!importCSV(new File(importFile).getAbsoluteFile()))
+				return false;
+		}
+
+		// The last record of each variable, in the order of the file
+		Map<String, RawVariable> rawVariables = new LinkedHashMap<>();
+		IOException ioException = null;
+		try (RecordReader reader = new RecordReader(file.toPath())) {
+			boolean complete = reader.read(new RecordVisitor() {
+				@Override
+				public void variable(String name, String type, byte[] data) {
+					rawVariables.put(name, new RawVariable(type, data));
+				}
+
+				@Override
+				public void deletion(String name) {
+					rawVariables.remove(name);
+				}
+			});
+			strings = reader.getStringTable();
+			if (!complete) {
+				Skript.warning("The last change in " + file.getName() + " was not written completely and has been ignored.");
+				try {
+					File backupFile = FileUtils.backup(file);
+					Skript.info("Created a backup of " + file.getName() + " as " + backupFile.getName());
+				} catch (IOException e) {
+					Skript.error("Could not backup " + file.getName() + ": " + e.getMessage());
+				}
+				// Remove the incomplete record, so new records can be appended
+				try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+					channel.truncate(reader.getValidLength());
+				}
+			}
+		} catch (IOException e) {
+			loadError = true;
+			ioException = e;
+		}
+
+		int unsuccessfulVariableCount = 0;
+		StringBuilder invalid = new StringBuilder();
+
+		List<Map.Entry<String, RawVariable>> entries = new ArrayList<>(rawVariables.entrySet());
+		Object[] values = deserialize(entries);
+		for (int i = 0; i < values.length; i++) {
+			String name = entries.get(i).getKey();
+			Object value = values[i];
+			if (value == null) {
+				// Only deserialized in parallel if it does not require the main thread
+				RawVariable raw = entries.get(i).getValue();
+				value = Classes.deserialize(raw.type, raw.data);
+			}
+
+			if (value == null) {
+				if (invalid.length() != 0)
+					invalid.append(", ");
+				invalid.append(name);
+				unsuccessfulVariableCount++;
+				continue;
+			}
+
+			Variables.variableLoaded(name, value, this);
+		}
+
+		if (ioException != null || unsuccessfulVariableCount > 0) {
+			if (unsuccessfulVariableCount > 0) {
+				Skript.error(unsuccessfulVariableCount + " variable" + (unsuccessfulVariableCount == 1 ? "" : "s") +
+						" could not be loaded!");
+				Skript.error("Affected variables: " + invalid);
+			}
+
+			if (ioException != null) {
+				Skript.error("An I/O error occurred while loading the variables: " + ExceptionUtils.toString(ioException));
+				Skript.error("This means that some to all variables could not be loaded!");
+			}
+		}
+
+		if (loadError || unsuccessfulVariableCount > 0) {
+			// Variables that could not be loaded are lost on the next save, keep them in a backup
+			try {
+				File backupFile = FileUtils.backup(file);
+				Skript.info("Created a backup of " + file.getName() + " as " + backupFile.getName());
+				loadError = false;
+			} catch (IOException e) {
+				Skript.error("Could not backup " + file.getName() + ": " + e.getMessage());
+			}
+		}
+
+		if (ioException != null) {
+			// Appending to a corrupted file would make the appended changes unreadable
+			return false;
+		}
+
+		connect();
+
+		// Start the save task
+		saveTask = new Task(Skript.getInstance(), SAVE_TASK_DELAY, SAVE_TASK_PERIOD, true) {
+			@Override
+			public void run() {
+				// Due to concurrency, the amount of changes may change between the get and set call
+				//  but that's not a big issue
+				if (changes.get() >= FlatFileStorage.getRequiredChangesForResave()) {
+					saveVariables(false);
+					changes.set(0);
+				}
+			}
+		};
+
+		return true;
+	}
+
+	/**
+	 * A variable as read from the file, before it has been deserialized.
+	 */
+	private static final class RawVariable {
+
+		final String type;
+		final byte[] data;
+
+		RawVariable(String type, byte[] data) {
+			this.type = type;
+			this.data = data;
+		}
+
+	}
+
+	/**
+	 * Deserializes the given variables in parallel, except for the ones
+	 * whose {@link Serializer#mustSyncDeserialization() serializer must deserialize on the main thread}.
+	 *
+	 * @param entries the variables to deserialize.
+	 * @return the deserialized values, with {@code null} for values that have not or could not be deserialized.
+	 */
+	private static Object[] deserialize(List<Map.Entry<String, RawVariable>> entries) {
+		Object[] values = new Object[entries.size()];
+		IntStream.range(0, values.length).parallel().forEach(i -> {
+			RawVariable raw = entries.get(i).getValue();
+			ClassInfo<?> classInfo = Classes.getClassInfoNoError(raw.type);
+			if (classInfo == null)
+				return;
+			Serializer<?> serializer = classInfo.getSerializer();
+			if (serializer == null || serializer.mustSyncDeserialization())
+				return;
+			try {
+				values[i] = Classes.deserialize(classInfo, raw.data);
+			} catch (RuntimeException ignored) {
+				// tried again on the main thread, where the error is reported
+			}
+		});
+		return values;
+	}
+
+	/**
+	 * Converts the given CSV file, as written by the {@link FlatFileStorage CSV storage},
+	 * to this storage's {@link #file}. The journals of the CSV file are included as well.
+	 *
+	 * @param csvFile the CSV file.
+	 * @return whether the file could be converted.
+	 */
+	private boolean importCSV(File csvFile) {
+		assert file != null;
+		if (!csvFile.isFile()) {
+			Skript.error("The file to import variables from, '" + csvFile.getName() + "', does not exist");
+			return false;
+		}
+
+		Skript.info("Converting " + csvFile.getName() + " to " + file.getName() + "...");
+		int count = 0;
+		File tempFile = new File(file.getParentFile(), file.getName() + ".temp");
+		try (RecordWriter importWriter = RecordWriter.create(tempFile.toPath())) {
+			for (String suffix : new String[] {"", ".journal.compacting", ".journal"}) {
+				File source = new File(csvFile.getParentFile(), csvFile.getName() + suffix);
+				if (!source.exists())
+					continue;
+				int converted = importCSV(source, importWriter);
+				if (converted == -1)
+					return false;
+				count += converted;
+			}
+			importWriter.flush();
+		} catch (IOException e) {
+			Skript.error("Could not convert " + csvFile.getName() + ": " + ExceptionUtils.toString(e));
+			return false;
+		}
+
+		try {
+			FileUtils.move(tempFile, file, true);
+		} catch (IOException e) {
+			Skript.error("Could not convert " + csvFile.getName() + ": " + ExceptionUtils.toString(e));
+			return false;
+		}
+		Skript.info("Converted " + count + " variable" + (count == 1 ? "" : "s") + " from " + csvFile.getName());
+		return true;
+	}
+
+	/**
+	 * Converts a single CSV file, later lines overriding earlier ones.
+	 * Values are copied as they are, without deserializing them.
+	 *
+	 * @return the amount of converted lines, or -1 if the file cannot be converted.
+	 */
+	private static int importCSV(File csvFile, RecordWriter importWriter) throws IOException {
+		Version v2_1 = new Version(2, 1);
+		int count = 0;
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(Files.newInputStream(csvFile.toPath()), FlatFileStorage.FILE_CHARSET))) {
+			String line;
+			int lineNum = 0;
+			while ((line = reader.readLine()) != null) {
+				lineNum++;
+				line = line.trim();
+
+				if (line.isEmpty() || line.startsWith("#")) {
+					if (line.startsWith("# version:")) {
+						try {
+							Version csvSkriptVersion = new Version(line.substring("# version:".length()).trim());
+							if (csvSkriptVersion.isSmallerThan(v2_1)) {
+								Skript.error(csvFile.getName() + " uses a format from before Skript 2.1 and cannot be converted." +
+										" Load it with a CSV database once to update it.");
+								return -1;
+							}
+						} catch (IllegalArgumentException ignored) {
+						}
+					}
+					continue;
+				}
+
+				String[] split = FlatFileStorage.splitCSV(line);
+				if (split == null || split.length != 3) {
+					Skript.error("invalid amount of commas in line " + lineNum + " of " + csvFile.getName() + " ('" + line + "')");
+					continue;
+				}
+
+				if (split[1].equals("null")) {
+					importWriter.writeVariable(split[0], null, null);
+				} else {
+					importWriter.writeVariable(split[0], split[1], FlatFileStorage.decode(split[2]));
+				}
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Override
+	protected void allLoaded() {
+		// no transaction support
+	}
+
+	@Override
+	protected boolean requiresFile() {
+		return true;
+	}
+
+	@Override
+	protected File getFile(String fileName) {
+		return new File(fileName);
+	}
+
+	@Override
+	protected final boolean connect() {
+		synchronized (connectionLock) {
+			assert file != null; // file should be non-null after load
+
+			if (writer != null)
+				return true;
+
+			try {
+				writer = RecordWriter.append(file.toPath(), strings);
+				connectionLock.notifyAll();
+				return true;
+			} catch (IOException e) {
+				//noinspection ThrowableNotThrown
+				Skript.exception(e);
+				return false;
+			}
+		}
+	}
+
+	@Override
+	protected final void disconnect() {
+		synchronized (connectionLock) {
+			closeWriter();
+		}
+	}
+
+	/**
+	 * Closes the {@link #writer}, if it is open.
+	 * Must be called while holding the {@link #connectionLock}.
+	 */
+	private void closeWriter() {
+		if (writer == null)
+			return;
+		try {
+			writer.close();
+		} catch (IOException e) {
+			Skript.error("Unable to close the database '" + getUserConfigurationName() + "': " + ExceptionUtils.toString(e));
+		}
+		writer = null;
+	}
+
+	/**
+	 * Gets the {@link #writer}, waiting for it to be available if needed.
+	 * Must be called while holding the {@link #connectionLock}.
+	 */
+	private RecordWriter awaitWriter() {
+		RecordWriter recordWriter;
+		while ((recordWriter = writer) == null) {
+			try {
+				connectionLock.wait();
+			} catch (InterruptedException e) {
+				// Re-interrupt thread
+				Thread.currentThread().interrupt();
+			}
+		}
+		return recordWriter;
+	}
+
+	@Override
+	public void close() {
+		clearChangesQueue();
+		super.close();
+		saveVariables(true); // also closes the writer
+	}
+
+	@Override
+	protected boolean save(String name, @Nullable String type, @Nullable byte[] value) {
+		synchronized (connectionLock) {
+			RecordWriter recordWriter = awaitWriter();
+			try {
+				recordWriter.writeVariable(name, type, value);
+				recordWriter.flush();
+			} catch (IOException e) {
+				Skript.error("Unable to save the variable '" + name + "' to the database '" + getUserConfigurationName() +
+						"': " + ExceptionUtils.toString(e));
+				return false;
+			}
+			changes.incrementAndGet();
+		}
+		return true;
+	}
+
+	/**
+	 * Appends all given variables, and only flushes the writer once.
+	 */
+	@Override
+	protected boolean saveAll(List<SerializedVariable> variables) {
+		synchronized (connectionLock) {
+			RecordWriter recordWriter = awaitWriter();
+			try {
+				for (SerializedVariable variable : variables) {
+					SerializedVariable.Value value = variable.value;
+					if (value == null) {
+						recordWriter.writeVariable(variable.name, null, null);
+					} else {
+						recordWriter.writeVariable(variable.name, value.type, value.data);
+					}
+				}
+				recordWriter.flush();
+			} catch (IOException e) {
+				Skript.error("Unable to save variables to the database '" + getUserConfigurationName() +
+						"': " + ExceptionUtils.toString(e));
+				return false;
+			}
+			changes.addAndGet(variables.size());
+		}
+		return true;
+	}
+
+	/**
+	 * Completely rewrites the binary file.
+	 * <p>
+	 * This does not lock the variables. Pending changes are kept while the variables are traversed,
+	 * and are appended to the file once it has been rewritten. Since later records override earlier ones,
+	 * the result is consistent.
+	 *
+	 * @param finalSave whether this is the last save in this session or not.
+	 */
+	public final void saveVariables(boolean finalSave) {
+		if (finalSave) {
+			// Cancel save and backup tasks, not needed with final save anyway
+			if (saveTask != null)
+				saveTask.cancel();
+			if (backupTask != null)
+				backupTask.cancel();
+		}
+
+		synchronized (connectionLock) {
+			try {
+				if (file == null) {
+					// This storage requires a file, so file should be nonnull
+					assert false : this;
+					return;
+				}
+
+				closeWriter();
+
+				if (loadError) {
+					// There was an error while loading the file, create a backup of it
+					try {
+						File backup = FileUtils.backup(file);
+						Skript.info("Created a backup of the old " + file.getName() + " as " + backup.getName());
+						loadError = false;
+					} catch (IOException e) {
+						Skript.error("Could not backup the old " + file.getName() + ": " + ExceptionUtils.toString(e));
+						Skript.error("No variables are saved!");
+						return;
+					}
+				}
+
+				File tempFile = new File(file.getParentFile(), file.getName() + ".temp");
+				try {
+					Map<String, Integer> snapshotStrings;
+					try (RecordWriter snapshotWriter = RecordWriter.create(tempFile.toPath())) {
+						Variables.forEachVariable((name, value) -> save(snapshotWriter, name, value));
+						snapshotWriter.flush();
+						snapshotStrings = snapshotWriter.strings;
+					} catch (UncheckedIOException e) {
+						throw e.getCause();
+					}
+					FileUtils.move(tempFile, file, true);
+					strings = snapshotStrings;
+				} catch (IOException e) {
+					Skript.error("Unable to make a final save of the database '" + getUserConfigurationName() +
+							"' (no variables are lost): " + ExceptionUtils.toString(e));
+				}
+			} finally {
+				// Reconnect if needed
+				if (!finalSave)
+					connect();
+			}
+		}
+	}
+
+	/**
+	 * Saves a single variable, if this storage is the one responsible for it.
+	 *
+	 * @param snapshotWriter the writer to write the variable to.
+	 * @param name the name of the variable.
+	 * @param value the value of the variable.
+	 */
+	private void save(RecordWriter snapshotWriter, String name, Object value) {
+		if (name.startsWith(Variable.EPHEMERAL_VARIABLE_TOKEN))
+			// Skip ephemeral variables
+			return;
+
+		if (!isResponsibleFor(name))
+			return;
+
+		SerializedVariable.Value serializedValue;
+		try {
+			serializedValue = Classes.serialize(value);
+		} catch (Exception ex) {
+			//noinspection ThrowableNotThrown
+			Skript.exception(ex, "Error saving variable named " + name);
+			return;
+		}
+		if (serializedValue == null)
+			return;
+
+		try {
+			snapshotWriter.writeVariable(name, serializedValue.type, serializedValue.data);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Receives the records of a binary variables file.
+	 */
+	interface RecordVisitor {
+
+		void variable(String name, String type, byte[] data);
+
+		void deletion(String name);
+
+	}
+
+	/**
+	 * Reads a binary variables file through memory mapping.
+	 */
+	static final class RecordReader implements Closeable {
+
+		/**
+		 * The maximum size of the part of the file that is mapped at once.
+		 */
+		private static final long MAX_WINDOW_SIZE = 1L << 30;
+
+		/**
+		 * The maximum size of a record's tag and length.
+		 */
+		private static final int MAX_RECORD_HEADER_SIZE = 6;
+
+		private final FileChannel channel;
+		private final long size;
+
+		@Nullable
+		private MappedByteBuffer window;
+		private long windowStart;
+
+		private final List<String> strings = new ArrayList<>();
+
+		/**
+		 * The position after the last complete record read.
+		 */
+		private long validLength = 0;
+
+		RecordReader(Path path) throws IOException {
+			channel = FileChannel.open(path, StandardOpenOption.READ);
+			size = channel.size();
+		}
+
+		/**
+		 * Reads all records of the file.
+		 *
+		 * @param visitor the visitor receiving the variables.
+		 * @return {@code false} if the last record is incomplete, {@code true} otherwise.
+		 * @throws StreamCorruptedException if the file is not a binary variables file or is corrupted.
+		 */
+		boolean read(RecordVisitor visitor) throws IOException {
+			if (size == 0)
+				return true;
+
+			ByteBuffer buffer = map(0, HEADER_SIZE);
+			if (buffer == null || buffer.getInt() != MAGIC)
+				throw new StreamCorruptedException("Not a binary variables file");
+			byte version = buffer.get();
+			if (version != FORMAT_VERSION)
+				throw new StreamCorruptedException("Unsupported format version " + version);
+
+			long position = HEADER_SIZE;
+			validLength = position;
+			while (position < size) {
+				buffer = map(position, (int) Math.min(MAX_RECORD_HEADER_SIZE, size - position));
+				assert buffer != null;
+				int recordStart = buffer.position();
+				byte tag;
+				int length;
+				try {
+					tag = buffer.get();
+					length = readVarInt(buffer);
+				} catch (BufferUnderflowException e) {
+					return false;
+				}
+				position += buffer.position() - recordStart;
+
+				buffer = map(position, length);
+				if (buffer == null)
+					return false;
+				readRecord(tag, buffer.slice(buffer.position(), length), visitor);
+				position += length;
+				validLength = position;
+			}
+			return true;
+		}
+
+		/**
+		 * @return the length of the file up to and including the last complete record.
+		 */
+		long getValidLength() {
+			return validLength;
+		}
+
+		private void readRecord(byte tag, ByteBuffer payload, RecordVisitor visitor) throws IOException {
+			try {
+				switch (tag) {
+					case RECORD_STRING:
+						strings.add(readString(payload, payload.remaining()));
+						break;
+					case RECORD_VARIABLE: {
+						String prefix = readPrefix(payload);
+						String name = prefix + readString(payload, readVarInt(payload));
+						String type = getString(readVarInt(payload));
+						byte[] data = new byte[payload.remaining()];
+						payload.get(data);
+						visitor.variable(name, type, data);
+						break;
+					}
+					case RECORD_DELETION: {
+						String prefix = readPrefix(payload);
+						visitor.deletion(prefix + readString(payload, payload.remaining()));
+						break;
+					}
+					default:
+						throw new StreamCorruptedException("Unknown record type " + tag);
+				}
+			} catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+				throw new StreamCorruptedException("Malformed record: " + e);
+			}
+		}
+
+		private String readPrefix(ByteBuffer payload) throws StreamCorruptedException {
+			int prefix = readVarInt(payload);
+			return prefix == 0 ? "" : getString(prefix - 1);
+		}
+
+		private String getString(int index) throws StreamCorruptedException {
+			if (index < 0 || index >= strings.size())
+				throw new StreamCorruptedException("Undefined string " + index);
+			return strings.get(index);
+		}
+
+		private static String readString(ByteBuffer buffer, int length) {
+			byte[] bytes = new byte[length];
+			buffer.get(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		/**
+		 * Makes sure the given part of the file is mapped.
+		 *
+		 * @return the mapped buffer, positioned at the given position,
+		 * or {@code null} if the file ends before the given part does.
+		 */
+		@Nullable
+		private ByteBuffer map(long position, int length) throws IOException {
+			if (position + length > size)
+				return null;
+			if (window == null || position < windowStart || position + length > windowStart + window.capacity()) {
+				windowStart = position;
+				window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+						Math.min(size - position, Math.max(MAX_WINDOW_SIZE, length)));
+			}
+			window.position((int) (position - windowStart));
+			return window;
+		}
+
+		/**
+		 * @return the string table of the file, as used by a {@link RecordWriter} appending to it.
+		 */
+		Map<String, Integer> getStringTable() {
+			Map<String, Integer> table = new HashMap<>();
+			for (int i = 0; i < strings.size(); i++)
+				table.putIfAbsent(strings.get(i), i);
+			return table;
+		}
+
+		@Override
+		public void close() throws IOException {
+			window = null;
+			channel.close();
+		}
+
+	}
+
+	/**
+	 * Writes records to a binary variables file. Not thread-safe.
+	 */
+	static final class RecordWriter implements Closeable {
+
+		private static final int BUFFER_SIZE = 64 * 1024;
+
+		private final FileChannel channel;
+		private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+		/**
+		 * The string table of the file, mapping strings to their index.
+		 */
+		final Map<String, Integer> strings;
+
+		private final Payload payload = new Payload();
+
+		private RecordWriter(FileChannel channel, Map<String, Integer> strings) {
+			this.channel = channel;
+			this.strings = strings;
+		}
+
+		/**
+		 * Creates a new file, replacing any existing one.
+		 */
+		static RecordWriter create(Path path) throws IOException {
+			FileChannel channel = FileChannel.open(path,
+					StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+			RecordWriter writer = new RecordWriter(channel, new HashMap<>());
+			writer.buffer.putInt(MAGIC).put(FORMAT_VERSION);
+			return writer;
+		}
+
+		/**
+		 * Appends to an existing file, creating it if it is empty.
+		 *
+		 * @param strings the string table of the existing file.
+		 */
+		static RecordWriter append(Path path, Map<String, Integer> strings) throws IOException {
+			FileChannel channel = FileChannel.open(path,
+					StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+			RecordWriter writer = new RecordWriter(channel, strings);
+			if (channel.size() == 0) {
+				strings.clear();
+				writer.buffer.putInt(MAGIC).put(FORMAT_VERSION);
+			}
+			return writer;
+		}
+
+		/**
+		 * Writes a variable record, or a deletion record if the type or data is {@code null}.
+		 */
+		void writeVariable(String name, @Nullable String type, @Nullable byte[] data) throws IOException {
+			int separator = name.lastIndexOf(Variable.SEPARATOR);
+			int prefixEnd = separator == -1 ? 0 : separator + Variable.SEPARATOR.length();
+			// Define strings first, as their records are written before this one
+			int prefix = prefixEnd == 0 ? 0 : getString(name.substring(0, prefixEnd)) + 1;
+			byte[] suffix = name.substring(prefixEnd).getBytes(StandardCharsets.UTF_8);
+
+			payload.reset();
+			writeVarInt(payload, prefix);
+			if (type == null || data == null) {
+				payload.write(suffix, 0, suffix.length);
+				writeRecord(RECORD_DELETION, payload.buffer(), payload.size());
+				return;
+			}
+
+			int typeIndex = getString(type);
+			writeVarInt(payload, suffix.length);
+			payload.write(suffix, 0, suffix.length);
+			writeVarInt(payload, typeIndex);
+			payload.write(data, 0, data.length);
+			writeRecord(RECORD_VARIABLE, payload.buffer(), payload.size());
+		}
+
+		/**
+		 * Gets the index of the given string, adding it to the string table if needed.
+		 */
+		private int getString(String string) throws IOException {
+			Integer index = strings.get(string);
+			if (index != null)
+				return index;
+			byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+			writeRecord(RECORD_STRING, bytes, bytes.length);
+			index = strings.size();
+			strings.put(string, index);
+			return index;
+		}
+
+		private void writeRecord(byte tag, byte[] bytes, int length) throws IOException {
+			if (buffer.remaining() < 1 + 5)
+				flush();
+			buffer.put(tag);
+			putVarInt(buffer, length);
+
+			if (length > buffer.remaining())
+				flush();
+			if (length > buffer.remaining()) {
+				ByteBuffer wrapped = ByteBuffer.wrap(bytes, 0, length);
+				while (wrapped.hasRemaining())
+					channel.write(wrapped);
+			} else {
+				buffer.put(bytes, 0, length);
+			}
+		}
+
+		/**
+		 * Writes all buffered records to the file.
+		 */
+		void flush() throws IOException {
+			buffer.flip();
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+			buffer.clear();
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				flush();
+			} finally {
+				channel.close();
+			}
+		}
+
+		/**
+		 * A {@link ByteArrayOutputStream} exposing its buffer, to avoid copying it.
+		 */
+		private static final class Payload extends ByteArrayOutputStream {
+
+			byte[] buffer() {
+				return buf;
+			}
+
+		}
+
+	}
+
+	/**
+	 * Writes the given non-negative integer using as few bytes as possible,
+	 * seven bits per byte with the highest bit set on all but the last byte.
+	 */
+	static void writeVarInt(ByteArrayOutputStream out, int value) {
+		assert value >= 0;
+		while ((value & ~0x7F) != 0) {
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	/**
+	 * @see #writeVarInt(ByteArrayOutputStream, int)
+	 */
+	static void putVarInt(ByteBuffer buffer, int value) {
+		assert value >= 0;
+		while ((value & ~0x7F) != 0) {
+			buffer.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+
+	/**
+	 * Reads an integer written by {@link #writeVarInt(ByteArrayOutputStream, int)}.
+	 */
+	static int readVarInt(ByteBuffer buffer) throws StreamCorruptedException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			byte b = buffer.get();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				if (value < 0)
+					throw new StreamCorruptedException("Negative length");
+				return value;
+			}
+		}
+		throw new StreamCorruptedException("Malformed length");
+	}
+
+}
@@ -14,18 +14,19 @@ import ch.njol.util.NotifyingReference;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.Map.Entry;
-import java.util.TreeMap;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -62,8 +63,7 @@ public class FlatFileStorage extends VariablesStorage {
 	 * to the {@link #file}.
 	 * <p>
 	 * A Lock on this object must be acquired after connectionLock
-	 * if that lock is used
-	 * (and thus also after {@link Variables#getReadLock()}).
+	 * if that lock is used.
 	 */
 	private final NotifyingReference<PrintWriter> changesWriter = new NotifyingReference<>();
 
@@ -97,6 +97,20 @@ public class FlatFileStorage extends VariablesStorage {
 	@Nullable
 	private Task saveTask;
 
+	/**
+	 * Whether changes are written to a separate {@link #getJournalFile() journal},
+	 * which is merged into the main file in the background.
+	 * <p>
+	 * Otherwise, changes are appended to the main file,
+	 * which is rewritten while holding the {@link #connectionLock}.
+	 */
+	private boolean journaled = false;
+
+	/**
+	 * Ensures only one {@link #compact(boolean) compaction} runs at a time.
+	 */
+	private final Object compactionLock = new Object();
+
 	/**
 	 * Whether there was an error while loading variables.
 	 * <p>
@@ -120,7 +134,6 @@ public class FlatFileStorage extends VariablesStorage {
 	 * Doesn't lock the connection, as required by
 	 * {@link Variables#variableLoaded(String, Object, VariablesStorage)}.
 	 */
-	@SuppressWarnings("deprecation")
 	@Override
 	protected boolean load_i(SectionNode sectionNode) {
 		SkriptLogger.setNode(null);
@@ -130,11 +143,107 @@ public class FlatFileStorage extends VariablesStorage {
 			return false;
 		}
 
+		if (sectionNode.get("journal") != null) {
+			Boolean journal = getValue(sectionNode, "journal", Boolean.class);
+			if (journal == null)
+				return false;
+			journaled = journal;
+		}
+
 		// Keep track of loading errors
 		IOException ioException = null;
+		LoadState state = new LoadState();
+
+		try {
+			loadFile(file, state);
+			if (journaled) {
+				// A journal that was being merged when the server stopped, followed by the current one
+				for (File journal : new File[] {getCompactingJournalFile(), getJournalFile()}) {
+					if (journal.exists())
+						loadFile(journal, state);
+				}
+			}
+		} catch (IOException e) {
+			loadError = true;
+			ioException = e;
+		}
+
+		if (ioException != null || state.unsuccessfulVariableCount > 0 || state.update2_1) {
+			// Something's wrong (or just an old version)
+			if (state.unsuccessfulVariableCount > 0) {
+				Skript.error(state.unsuccessfulVariableCount + " variable" + (state.unsuccessfulVariableCount == 1 ? "" : "s") +
+						" could not be loaded!");
+				Skript.error("Affected variables: " + state.invalid.toString());
+			}
+
+			if (ioException != null) {
+				Skript.error("An I/O error occurred while loading the variables: " + ExceptionUtils.toString(ioException));
+				Skript.error("This means that some to all variables could not be loaded!");
+			}
+
+			try {
+				if (state.update2_1) {
+					Skript.info("[2.1] updating " + file.getName() + " to the new format...");
+				}
+
+				// Back up CSV file
+				File backupFile = FileUtils.backup(file);
+				Skript.info("Created a backup of " + file.getName() + " as " + backupFile.getName());
+
+				loadError = false;
+			} catch (IOException ex) {
+				Skript.error("Could not backup " + file.getName() + ": " + ex.getMessage());
+			}
+		}
+
+		if (state.update2_1) {
+			// Save variables in new format
+			saveVariables(false);
+			Skript.info(file.getName() + " successfully updated.");
+		}
+
+		connect();
+
+		// Start the save task
+		saveTask = new Task(Skript.getInstance(), SAVE_TASK_DELAY, SAVE_TASK_PERIOD, true) {
+			@Override
+			public void run() {
+				// Due to concurrency, the amount of changes may change between the get and set call
+				//  but that's not a big issue
+				if (changes.get() >= REQUIRED_CHANGES_FOR_RESAVE) {
+					saveVariables(false);
+					changes.set(0);
+				}
+			}
+		};
+
+		return ioException == null;
+	}
+
+	/**
+	 * The state kept while loading the variables from one or more files.
+	 */
+	private static final class LoadState {
+
 		int unsuccessfulVariableCount = 0;
-		StringBuilder invalid = new StringBuilder();
 
+		final StringBuilder invalid = new StringBuilder();
+
+		/**
+		 * Whether any of the loaded files was created before Skript 2.1, and thus uses the old format.
+		 */
+		boolean update2_1 = false;
+
+	}
+
+	/**
+	 * Loads the variables of the given CSV file, later lines overriding earlier ones.
+	 *
+	 * @param file the file to load.
+	 * @param state the state of the loading, updated by this method.
+	 */
+	@SuppressWarnings("deprecation")
+	private void loadFile(File file, LoadState state) throws IOException {
 		// The Skript version this CSV was created with
 		Version csvSkriptVersion;
 
@@ -162,6 +271,7 @@ public class FlatFileStorage extends VariablesStorage {
 							csvSkriptVersion = new Version(line.substring("# version:".length()).trim());
 							update2_0_beta3 = csvSkriptVersion.isSmallerThan(v2_0_beta3);
 							update2_1 = csvSkriptVersion.isSmallerThan(v2_1);
+							state.update2_1 |= update2_1;
 						} catch (IllegalArgumentException ignored) {
 						}
 					}
@@ -173,12 +283,12 @@ public class FlatFileStorage extends VariablesStorage {
 				if (split == null || split.length != 3) {
 					// Invalid CSV line
 
-					Skript.error("invalid amount of commas in line " + lineNum + " ('" + line + "')");
-					if (invalid.length() != 0)
-						invalid.append(", ");
+					Skript.error("invalid amount of commas in line " + lineNum + " of " + file.getName() + " ('" + line + "')");
+					if (state.invalid.length() != 0)
+						state.invalid.append(", ");
 
-					invalid.append(split == null ? "<unknown>" : split[0]);
-					unsuccessfulVariableCount++;
+					state.invalid.append(split == null ? "<unknown>" : split[0]);
+					state.unsuccessfulVariableCount++;
 					continue;
 				}
 
@@ -195,11 +305,11 @@ public class FlatFileStorage extends VariablesStorage {
 
 					if (deserializedValue == null) {
 						// Couldn't deserialize variable
-						if (invalid.length() != 0)
-							invalid.append(", ");
+						if (state.invalid.length() != 0)
+							state.invalid.append(", ");
 
-						invalid.append(split[0]);
-						unsuccessfulVariableCount++;
+						state.invalid.append(split[0]);
+						state.unsuccessfulVariableCount++;
 						continue;
 					}
 
@@ -211,61 +321,23 @@ public class FlatFileStorage extends VariablesStorage {
 					Variables.variableLoaded(split[0], deserializedValue, this);
 				}
 			}
-		} catch (IOException e) {
-			loadError = true;
-			ioException = e;
-		}
-
-		if (ioException != null || unsuccessfulVariableCount > 0 || update2_1) {
-			// Something's wrong (or just an old version)
-			if (unsuccessfulVariableCount > 0) {
-				Skript.error(unsuccessfulVariableCount + " variable" + (unsuccessfulVariableCount == 1 ? "" : "s") +
-						" could not be loaded!");
-				Skript.error("Affected variables: " + invalid.toString());
-			}
-
-			if (ioException != null) {
-				Skript.error("An I/O error occurred while loading the variables: " + ExceptionUtils.toString(ioException));
-				Skript.error("This means that some to all variables could not be loaded!");
-			}
-
-			try {
-				if (update2_1) {
-					Skript.info("[2.1] updating " + file.getName() + " to the new format...");
-				}
-
-				// Back up CSV file
-				File backupFile = FileUtils.backup(file);
-				Skript.info("Created a backup of " + file.getName() + " as " + backupFile.getName());
-
-				loadError = false;
-			} catch (IOException ex) {
-				Skript.error("Could not backup " + file.getName() + ": " + ex.getMessage());
-			}
-		}
-
-		if (update2_1) {
-			// Save variables in new format
-			saveVariables(false);
-			Skript.info(file.getName() + " successfully updated.");
 		}
+	}
 
-		connect();
-
-		// Start the save task
-		saveTask = new Task(Skript.getInstance(), SAVE_TASK_DELAY, SAVE_TASK_PERIOD, true) {
-			@Override
-			public void run() {
-				// Due to concurrency, the amount of changes may change between the get and set call
-				//  but that's not a big issue
-				if (changes.get() >= REQUIRED_CHANGES_FOR_RESAVE) {
-					saveVariables(false);
-					changes.set(0);
-				}
-			}
-		};
+	/**
+	 * @return the file changes are appended to in {@link #journaled journaled mode}.
+	 */
+	private File getJournalFile() {
+		assert file != null;
+		return new File(file.getParentFile(), file.getName() + ".journal");
+	}
 
-		return ioException == null;
+	/**
+	 * @return the file the {@link #getJournalFile() journal} is moved to while it is being merged into the main file.
+	 */
+	private File getCompactingJournalFile() {
+		assert file != null;
+		return new File(file.getParentFile(), file.getName() + ".journal.compacting");
 	}
 
 	@Override
@@ -287,13 +359,21 @@ public class FlatFileStorage extends VariablesStorage {
 	protected final void disconnect() {
 		synchronized (connectionLock) {
 			clearChangesQueue();
-			synchronized (changesWriter) {
-				PrintWriter printWriter = changesWriter.get();
+			closeChangesWriter();
+		}
+	}
 
-				if (printWriter != null) {
-					printWriter.close();
-					changesWriter.set(null);
-				}
+	/**
+	 * Closes the {@link #changesWriter}, if it is open.
+	 * Must be called while holding the {@link #connectionLock}.
+	 */
+	private void closeChangesWriter() {
+		synchronized (changesWriter) {
+			PrintWriter printWriter = changesWriter.get();
+
+			if (printWriter != null) {
+				printWriter.close();
+				changesWriter.set(null);
 			}
 		}
 	}
@@ -307,12 +387,15 @@ public class FlatFileStorage extends VariablesStorage {
 				if (changesWriter.get() != null)
 					return true;
 
-				// Open the file stream, and create the PrintWriter with it
-				try (FileOutputStream fos = new FileOutputStream(file, true)) {
-					changesWriter.set(new PrintWriter(new OutputStreamWriter(fos, FILE_CHARSET)));
+				// Open the file channel to append to, and create the PrintWriter with it
+				File target = journaled ? getJournalFile() : file;
+				try {
+					FileChannel channel = FileChannel.open(target.toPath(),
+							StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+					changesWriter.set(new PrintWriter(new BufferedWriter(Channels.newWriter(channel, FILE_CHARSET))));
 					loaded = true;
 					return true;
-				} catch (IOException e) { // close() might throw ANY IOException
+				} catch (IOException e) {
 					//noinspection ThrowableNotThrown
 					Skript.exception(e);
 					return false;
@@ -339,17 +422,7 @@ public class FlatFileStorage extends VariablesStorage {
 					return true;
 				}
 
-				// Get the PrintWriter, waiting for it to be available if needed
-				PrintWriter printWriter;
-				while ((printWriter = changesWriter.get()) == null) {
-					try {
-						changesWriter.wait();
-					} catch (InterruptedException e) {
-						// Re-interrupt thread
-						Thread.currentThread().interrupt();
-					}
-				}
-
+				PrintWriter printWriter = awaitChangesWriter();
 				writeCSV(printWriter, name, type, value == null ? "" : encode(value));
 				printWriter.flush();
 
@@ -359,9 +432,55 @@ public class FlatFileStorage extends VariablesStorage {
 		return true;
 	}
 
+	/**
+	 * Appends all given variables, and only flushes the writer once.
+	 */
+	@Override
+	protected boolean saveAll(List<SerializedVariable> variables) {
+		synchronized (connectionLock) {
+			synchronized (changesWriter) {
+				PrintWriter printWriter = awaitChangesWriter();
+				for (SerializedVariable variable : variables) {
+					SerializedVariable.Value value = variable.value;
+					if (value == null) {
+						if (loaded) // see save(String, String, byte[])
+							writeCSV(printWriter, variable.name, null, "");
+					} else {
+						writeCSV(printWriter, variable.name, value.type, encode(value.data));
+					}
+				}
+				printWriter.flush();
+
+				changes.addAndGet(variables.size());
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the {@link #changesWriter}, waiting for it to be available if needed.
+	 * Must be called while synchronized on the {@link #changesWriter}.
+	 */
+	private PrintWriter awaitChangesWriter() {
+		PrintWriter printWriter;
+		while ((printWriter = changesWriter.get()) == null) {
+			try {
+				changesWriter.wait();
+			} catch (InterruptedException e) {
+				// Re-interrupt thread
+				Thread.currentThread().interrupt();
+			}
+		}
+		return printWriter;
+	}
+
 	/**
 	 * Completely rewrites the CSV file.
 	 * <p>
+	 * This does not lock the variables: pending changes are discarded before the variables are traversed,
+	 * and changes made during the traversal are appended to the file once it has been rewritten.
+	 * Since later lines of the file override earlier ones, the result is consistent.
+	 * <p>
 	 * The {@code finalSave} argument is used to determine if
 	 * the {@link #saveTask save} and {@link #backupTask backup} tasks
 	 * should be cancelled, and if the storage should reconnect after saving.
@@ -377,10 +496,12 @@ public class FlatFileStorage extends VariablesStorage {
 				backupTask.cancel();
 		}
 
-		try {
-			// Acquire read lock
-			Variables.getReadLock().lock();
+		if (journaled) {
+			compact(finalSave);
+			return;
+		}
 
+		try {
 			synchronized (connectionLock) {
 				try {
 					if (file == null) {
@@ -389,6 +510,7 @@ public class FlatFileStorage extends VariablesStorage {
 						return;
 					}
 
+					// Also clears the pending changes, which are already included in the variables
 					disconnect();
 
 					if (loadError) {
@@ -409,16 +531,8 @@ public class FlatFileStorage extends VariablesStorage {
 					//  the data in the actual file may be partially lost)
 					File tempFile = new File(file.getParentFile(), file.getName() + ".temp");
 
-					try (PrintWriter pw = new PrintWriter(tempFile, "UTF-8")) {
-						pw.println("# === Skript's variable storage ===");
-						pw.println("# Please do not modify this file manually!");
-						pw.println("#");
-						pw.println("# version: " + Skript.getVersion());
-						pw.println();
-						save(pw, "", Variables.getVariables());
-						pw.println();
-						pw.flush();
-						pw.close();
+					try {
+						writeSnapshot(tempFile);
 						FileUtils.move(tempFile, file, true);
 					} catch (IOException e) {
 						Skript.error("Unable to make a final save of the database '" + getUserConfigurationName() +
@@ -433,73 +547,124 @@ public class FlatFileStorage extends VariablesStorage {
 				}
 			}
 		} finally {
-			Variables.getReadLock().unlock();
-			boolean gotWriteLock = Variables.variablesLock.writeLock().tryLock();
-			if (gotWriteLock) { // Only process queue now if it doesn't require us to wait
+			// Only processes the queues that don't require us to wait
+			Variables.tryProcessChangeQueues();
+		}
+	}
+
+	/**
+	 * Merges the {@link #getJournalFile() journal} into the main file.
+	 * <p>
+	 * The journal is first moved aside while holding the {@link #connectionLock}, after which new changes
+	 * are appended to a fresh journal. The main file is then rewritten from the variables in memory without
+	 * holding any lock, so changes can continue to be written meanwhile. Changes made while the variables
+	 * are traversed are also part of the fresh journal, which is loaded after the main file.
+	 * Finally, the moved journal is deleted.
+	 * <p>
+	 * If the server stops during this process, both journals are loaded after the main file on the next start.
+	 *
+	 * @param finalSave whether this is the last save in this session or not.
+	 */
+	private void compact(boolean finalSave) {
+		synchronized (compactionLock) {
+			if (file == null) {
+				// This storage requires a file, so file should be nonnull
+				assert false : this;
+				return;
+			}
+
+			File journal = getJournalFile();
+			File compactingJournal = getCompactingJournalFile();
+			synchronized (connectionLock) {
+				closeChangesWriter();
 				try {
-					Variables.processChangeQueue();
+					if (journal.exists()) {
+						if (compactingJournal.exists()) {
+							// a previous compaction failed, keep its journal until the next one succeeds
+							Files.write(compactingJournal.toPath(), Files.readAllBytes(journal.toPath()), StandardOpenOption.APPEND);
+							Files.delete(journal.toPath());
+						} else {
+							FileUtils.move(journal, compactingJournal, false);
+						}
+					}
+				} catch (IOException e) {
+					Skript.error("Unable to rotate the journal of the database '" + getUserConfigurationName() +
+							"' (no variables are lost): " + ExceptionUtils.toString(e));
+					return;
 				} finally {
-					Variables.variablesLock.writeLock().unlock();
+					if (!finalSave)
+						connect();
+				}
+			}
+
+			if (loadError) {
+				// There was an error while loading the CSV file, create a backup of it
+				try {
+					File backup = FileUtils.backup(file);
+					Skript.info("Created a backup of the old " + file.getName() + " as " + backup.getName());
+					loadError = false;
+				} catch (IOException e) {
+					Skript.error("Could not backup the old " + file.getName() + ": " + ExceptionUtils.toString(e));
+					Skript.error("No variables are saved!");
+					return;
 				}
 			}
+
+			File tempFile = new File(file.getParentFile(), file.getName() + ".temp");
+			try {
+				writeSnapshot(tempFile);
+				FileUtils.move(tempFile, file, true);
+				Files.deleteIfExists(compactingJournal.toPath());
+			} catch (IOException e) {
+				Skript.error("Unable to merge the journal of the database '" + getUserConfigurationName() +
+						"' (no variables are lost): " + ExceptionUtils.toString(e));
+			}
 		}
 	}
 
 	/**
-	 * Saves the variables.
-	 * <p>
-	 * This method uses the sorted variables map to save the variables in order.
+	 * Writes all variables this storage is responsible for to the given file.
 	 *
-	 * @param pw the print writer to write the CSV lines too.
-	 * @param parent The parent's name with {@link Variable#SEPARATOR} at the end.
-	 * @param map the variables map.
+	 * @param target the file to write to.
 	 */
-	@SuppressWarnings("unchecked")
-	private void save(PrintWriter pw, String parent, TreeMap<String, Object> map) {
-		if (parent.startsWith(Variable.EPHEMERAL_VARIABLE_TOKEN))
+	private void writeSnapshot(File target) throws IOException {
+		try (PrintWriter pw = new PrintWriter(target, "UTF-8")) {
+			pw.println("# === Skript's variable storage ===");
+			pw.println("# Please do not modify this file manually!");
+			pw.println("#");
+			pw.println("# version: " + Skript.getVersion());
+			pw.println();
+			Variables.forEachVariable((name, value) -> save(pw, name, value));
+			pw.println();
+			pw.flush();
+		}
+	}
+
+	/**
+	 * Saves a single variable, if this storage is the one responsible for it.
+	 *
+	 * @param pw the print writer to write the CSV line to.
+	 * @param name the name of the variable.
+	 * @param value the value of the variable.
+	 */
+	private void save(PrintWriter pw, String name, Object value) {
+		if (name.startsWith(Variable.EPHEMERAL_VARIABLE_TOKEN))
 			// Skip ephemeral variables
 			return;
 
-		// Iterate over all children
-		for (Entry<String, Object> childEntry : map.entrySet()) {
-			Object childNode = childEntry.getValue();
-			String childKey = childEntry.getKey();
-
-			if (childNode == null)
-				continue; // Leaf node
-
-			if (childNode instanceof TreeMap) {
-				// TreeMap found, recurse
-				save(pw, parent + childKey + Variable.SEPARATOR, (TreeMap<String, Object>) childNode);
-			} else {
-				// Remove variable separator if needed
-				String name = childKey == null ? parent.substring(0, parent.length() - Variable.SEPARATOR.length()) : parent + childKey;
-
-				if (name.startsWith(Variable.EPHEMERAL_VARIABLE_TOKEN))
-					// Skip ephemeral variables
-					continue;
-
-				try {
-					// Loop over storages to make sure this variable is ours to store
-					for (VariablesStorage storage : Variables.STORAGES) {
-						if (storage.accept(name)) {
-							if (storage == this) {
-								// Serialize the value
-								SerializedVariable.Value serializedValue = Classes.serialize(childNode);
-
-								// Write the CSV line
-								if (serializedValue != null)
-									writeCSV(pw, name, serializedValue.type, encode(serializedValue.data));
-							}
-
-							break;
-						}
-					}
-				} catch (Exception ex) {
-					//noinspection ThrowableNotThrown
-					Skript.exception(ex, "Error saving variable named " + name);
-				}
+		try {
+			// Make sure this variable is ours to store
+			if (isResponsibleFor(name)) {
+				// Serialize the value
+				SerializedVariable.Value serializedValue = Classes.serialize(value);
+
+				// Write the CSV line
+				if (serializedValue != null)
+					writeCSV(pw, name, serializedValue.type, encode(serializedValue.data));
 			}
+		} catch (Exception ex) {
+			//noinspection ThrowableNotThrown
+			Skript.exception(ex, "Error saving variable named " + name);
 		}
 	}
 
@@ -624,6 +789,13 @@ public class FlatFileStorage extends VariablesStorage {
 		printWriter.println();
 	}
 
+	/**
+	 * @return the amount of changes needed for a new full save of file based storages.
+	 */
+	static int getRequiredChangesForResave() {
+		return REQUIRED_CHANGES_FOR_RESAVE;
+	}
+
 	/**
 	 * Change the required amount of variable changes until variables are saved.
 	 * Cannot be zero or less.
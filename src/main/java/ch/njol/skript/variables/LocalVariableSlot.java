@@ -0,0 +1,85 @@
+package ch.njol.skript.variables;
+
+import org.bukkit.event.Event;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+/**
+ * A local variable whose name is known while parsing, which can thus be accessed through its slot
+ * instead of hashing and lower-casing its name for every access.
+ * <p>
+ * The slots of both the case-sensitive and the lower case name are allocated,
+ * the one matching {@link Variables#caseInsensitiveVariables} is used.
+ * Slots are scoped to the script being parsed, see {@link LocalVariableSlots}.
+ */
+public final class LocalVariableSlot {
+
+	private final LocalVariableSlots slots;
+	private final String name;
+	private final int slot;
+	private final String lowerCaseName;
+	private final int lowerCaseSlot;
+
+	private LocalVariableSlot(LocalVariableSlots slots, String name, int slot, String lowerCaseName, int lowerCaseSlot) {
+		this.slots = slots;
+		this.name = name;
+		this.slot = slot;
+		this.lowerCaseName = lowerCaseName;
+		this.lowerCaseSlot = lowerCaseSlot;
+	}
+
+	/**
+	 * Allocates the slot of a local variable in the script currently being parsed.
+	 *
+	 * @param name the name of the variable, excluding the local variable token.
+	 * @return the slot of the variable, or {@code null} if no script is being parsed
+	 * or if the variable is a list variable or part of one, which cannot have a slot.
+	 */
+	public static @Nullable LocalVariableSlot of(String name) {
+		LocalVariableSlots slots = LocalVariableSlots.current();
+		if (slots == null)
+			return null;
+		int slot = slots.allocate(name);
+		if (slot == -1)
+			return null;
+		String lowerCaseName = name.toLowerCase(Locale.ENGLISH);
+		int lowerCaseSlot = lowerCaseName.equals(name) ? slot : slots.allocate(lowerCaseName);
+		return new LocalVariableSlot(slots, name, slot, lowerCaseName, lowerCaseSlot);
+	}
+
+	/**
+	 * @return the name of the variable, in the case it is stored in.
+	 */
+	public String getName() {
+		return Variables.caseInsensitiveVariables ? lowerCaseName : name;
+	}
+
+	/**
+	 * @param event the event the local variable resides in.
+	 * @return the value of the variable, or {@code null} if it is not set.
+	 */
+	public @Nullable Object get(Event event) {
+		if (Variables.caseInsensitiveVariables)
+			return Variables.getLocalVariable(slots, lowerCaseSlot, lowerCaseName, event);
+		return Variables.getLocalVariable(slots, slot, name, event);
+	}
+
+	/**
+	 * @param event the event the local variable resides in.
+	 * @param value the new value of the variable, {@code null} to delete the variable.
+	 */
+	public void set(Event event, @Nullable Object value) {
+		if (Variables.caseInsensitiveVariables) {
+			Variables.setLocalVariable(slots, lowerCaseSlot, lowerCaseName, value, event);
+		} else {
+			Variables.setLocalVariable(slots, slot, name, value, event);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return name + " (slot " + slot + ")";
+	}
+
+}
@@ -0,0 +1,58 @@
+package ch.njol.skript.variables;
+
+import ch.njol.skript.lang.Variable;
+import ch.njol.skript.lang.parser.ParserInstance;
+import org.jetbrains.annotations.Nullable;
+import org.skriptlang.skript.lang.script.Script;
+import org.skriptlang.skript.lang.script.ScriptData;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The slots of the local variables of one script, see {@link LocalVariableSlot}.
+ * <p>
+ * Slots are allocated in parse order while the script is loaded, so the slots of one trigger are mostly consecutive.
+ * They are stored as data of the script, and are thus released when it is unloaded.
+ * A {@link VariablesMap} only stores the slots of one script, variables of any other script are stored by name.
+ */
+final class LocalVariableSlots implements ScriptData {
+
+	/**
+	 * @return The slots of the script currently being parsed, or {@code null} if no script is being parsed.
+	 */
+	static @Nullable LocalVariableSlots current() {
+		ParserInstance parser = ParserInstance.get();
+		if (!parser.isActive())
+			return null;
+		Script script = parser.getCurrentScript();
+		return script.getData(LocalVariableSlots.class, LocalVariableSlots::new);
+	}
+
+	private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+	private final AtomicInteger nextSlot = new AtomicInteger(1);
+
+	/**
+	 * Allocates the slot of the given variable name, if it does not have one yet.
+	 * Only names of variables that are neither a list variable nor part of one can have a slot.
+	 *
+	 * @param name the variable name.
+	 * @return the slot of the variable, or {@code -1} if it cannot have one.
+	 */
+	int allocate(String name) {
+		if (name.endsWith("*") || name.contains(Variable.SEPARATOR))
+			return -1;
+		return slots.computeIfAbsent(name, n -> nextSlot.getAndIncrement());
+	}
+
+	/**
+	 * @param name the variable name.
+	 * @return the slot of the variable, or {@code -1} if it has none.
+	 */
+	int get(String name) {
+		Integer slot = slots.get(name);
+		return slot == null ? -1 : slot;
+	}
+
+}
@@ -0,0 +1,151 @@
+package ch.njol.skript.variables;
+
+import ch.njol.skript.lang.Variable;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+/**
+ * The store for global variables.
+ * <p>
+ * Variables are split over a fixed amount of {@link Shard shards},
+ * selected by the first segment of the variable name (the part before the first {@link Variable#SEPARATOR}).
+ * As such, all elements of a list variable always reside in the same shard,
+ * and writers only contend with other writers of the same shard.
+ * <p>
+ * Reads of non-list variables are served from a concurrent map and never block.
+ * Reads of list variables take the read lock of their shard.
+ */
+final class ShardedVariablesMap {
+
+	/**
+	 * The amount of shards, must be a power of two.
+	 */
+	private static final int SHARD_COUNT = 64;
+
+	/**
+	 * A part of the global variables, guarded by its own lock.
+	 */
+	static final class Shard {
+
+		/**
+		 * The lock for modifying this shard, and for reading list variables from it.
+		 */
+		final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+		/**
+		 * The variables of this shard. Its {@link VariablesMap#hashMap} is concurrent,
+		 *  so non-list variables may be read without holding {@link #lock}.
+		 */
+		final VariablesMap map = new VariablesMap(true);
+
+		/**
+		 * Changes to variables of this shard that have not yet been performed,
+		 * as the {@link #lock} could not be acquired without blocking.
+		 * Changes are performed in the order of this queue.
+		 */
+		final Queue<Variables.VariableChange> changeQueue = new ConcurrentLinkedQueue<>();
+
+		/**
+		 * The latest change of each variable in the {@link #changeQueue}, indexed by variable name.
+		 * Used to read unperformed changes without scanning the queue.
+		 */
+		final Map<String, Variables.VariableChange> pendingChanges = new ConcurrentHashMap<>();
+
+	}
+
+	private final Shard[] shards = new Shard[SHARD_COUNT];
+
+	ShardedVariablesMap() {
+		for (int i = 0; i < SHARD_COUNT; i++)
+			shards[i] = new Shard();
+	}
+
+	/**
+	 * @return All shards of this map.
+	 */
+	Shard[] getShards() {
+		return shards;
+	}
+
+	/**
+	 * Gets the shard the given variable resides in.
+	 *
+	 * @param name the variable name, possibly a list variable.
+	 * @return the shard of the variable.
+	 */
+	Shard getShard(String name) {
+		int separator = name.indexOf(Variable.SEPARATOR);
+		int hash = separator == -1 ? name.hashCode() : name.substring(0, separator).hashCode();
+		hash ^= hash >>> 16;
+		return shards[hash & (SHARD_COUNT - 1)];
+	}
+
+	/**
+	 * Returns the internal value of the requested variable.
+	 * <p>
+	 * <b>Do not modify the returned value!</b>
+	 *
+	 * @param shard the {@link #getShard(String) shard} of the variable.
+	 * @param name the name of the variable, possibly a list variable.
+	 * @return an {@link Object} for a normal variable or a
+	 * {@code Map<String, Object>} for a list variable,
+	 * or {@code null} if the variable is not set.
+	 */
+	@Nullable
+	Object getVariable(Shard shard, String name) {
+		if (!name.endsWith("*"))
+			return shard.map.hashMap.get(name);
+
+		shard.lock.readLock().lock();
+		try {
+			return shard.map.getVariable(name);
+		} finally {
+			shard.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Passes every (non-list) variable to the given consumer without acquiring any lock.
+	 * <p>
+	 * Each shard is traversed weakly consistently: all changes completed before this method was called are
+	 *  visible, and changes made concurrently may or may not be. Callers needing a consistent view
+	 *  (e.g. a full save) must make sure changes made after calling this method are persisted afterwards.
+	 *
+	 * @param consumer the consumer accepting the variable names and values.
+	 */
+	void forEachVariable(BiConsumer<String, Object> consumer) {
+		for (Shard shard : shards) {
+			for (Map.Entry<String, Object> entry : shard.map.hashMap.entrySet())
+				consumer.accept(entry.getKey(), entry.getValue());
+		}
+	}
+
+	/**
+	 * @return the amount of (non-list) variables in this map.
+	 */
+	int size() {
+		int size = 0;
+		for (Shard shard : shards)
+			size += shard.map.hashMap.size();
+		return size;
+	}
+
+	/**
+	 * @return whether this map contains no variables.
+	 */
+	boolean isEmpty() {
+		for (Shard shard : shards) {
+			if (!shard.map.hashMap.isEmpty() || !shard.map.treeMap.isEmpty())
+				return false;
+		}
+		return true;
+	}
+
+}
@@ -33,24 +33,24 @@ import org.skriptlang.skript.lang.converter.Converters;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.TreeMap;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.regex.Pattern;
 
 /**
@@ -89,6 +89,7 @@ public class Variables {
 		registerStorage(FlatFileStorage.class, "csv", "file", "flatfile");
 		registerStorage(SQLiteStorage.class, "sqlite");
 		registerStorage(MySQLStorage.class, "mysql");
+		registerStorage(BinaryStorage.class, "binary");
 		yggdrasil.registerSingleClass(Kleenean.class, "Kleenean");
 		// Register ConfigurationSerializable, Bukkit's serialization system
 		yggdrasil.registerClassResolver(new ConfigurationSerializer<ConfigurationSerializable>() {
@@ -162,8 +163,7 @@ public class Variables {
 	 * @return whether the loading was successful.
 	 */
 	public static boolean load() {
-		assert variables.treeMap.isEmpty();
-		assert variables.hashMap.isEmpty();
+		assert variables.isEmpty();
 		assert STORAGES.isEmpty();
 
 		Config config = SkriptConfig.getConfig();
@@ -318,15 +318,10 @@ public class Variables {
 	}
 
 	/**
-	 * A lock for reading and writing variables.
+	 * The map storing global variables.
+	 * Each of its {@link ShardedVariablesMap.Shard shards} is guarded by its own lock.
 	 */
-	static final ReadWriteLock variablesLock = new ReentrantReadWriteLock(true);
-
-	/**
-	 * The {@link VariablesMap} storing global variables,
-	 * must be locked with {@link #variablesLock}.
-	 */
-	static final VariablesMap variables = new VariablesMap();
+	static final ShardedVariablesMap variables = new ShardedVariablesMap();
 
 	/**
 	 * A map storing all local variables,
@@ -335,33 +330,17 @@ public class Variables {
 	private static final Map<Event, VariablesMap> localVariables = new ConcurrentHashMap<>();
 
 	/**
-	 * Gets the {@link TreeMap} of all global variables.
-	 * <p>
-	 * Remember to lock with {@link #getReadLock()} and to not make any changes!
-	 */
-	static TreeMap<String, Object> getVariables() {
-		return variables.treeMap;
-	}
-
-	/**
-	 * Gets the {@link Map} of all global variables.
+	 * Passes all global (non-list) variables to the given consumer, without blocking any readers or writers.
 	 * <p>
-	 * This map cannot be modified.
-	 * Remember to lock with {@link #getReadLock()}!
-	 */
-	static Map<String, Object> getVariablesHashMap() {
-		return Collections.unmodifiableMap(variables.hashMap);
-	}
-
-	/**
-	 * Gets the lock for reading variables.
-	 *
-	 * @return the lock.
+	 * All changes made before calling this method are visible to the consumer,
+	 * changes made while this method runs may or may not be.
+	 * Storages rewriting their whole content must thus make sure that variable changes
+	 * {@link VariablesStorage#save(SerializedVariable) saved} after calling this method are persisted afterwards.
 	 *
-	 * @see #variablesLock
+	 * @param consumer the consumer accepting the variable names and values.
 	 */
-	static Lock getReadLock() {
-		return variablesLock.readLock();
+	static void forEachVariable(BiConsumer<String, Object> consumer) {
+		variables.forEachVariable(consumer);
 	}
 
 	/**
@@ -457,27 +436,16 @@ public class Variables {
 
 			return map.getVariable(n);
 		} else {
-			try {
-				variablesLock.readLock().lock();
-				// Prevent race conditions from returning variables with incorrect values
-				if (!changeQueue.isEmpty()) {
-					// Gets the last VariableChange made
-					VariableChange variableChange = changeQueue.stream()
-							.filter(change -> change.name.equals(n))
-							.reduce((first, second) -> second)
-									// Gets last value, as iteration is from head to tail,
-									//  and adding occurs at the tail (and we want the most recently added)
-							.orElse(null);
-
-					if (variableChange != null) {
-						return variableChange.value;
-					}
-				}
-
-				return variables.getVariable(n);
-			} finally {
-				variablesLock.readLock().unlock();
+			ShardedVariablesMap.Shard shard = variables.getShard(n);
+			// Prevent race conditions from returning variables with incorrect values
+			if (!shard.pendingChanges.isEmpty()) {
+				// Gets the last VariableChange made that hasn't been performed yet
+				VariableChange variableChange = shard.pendingChanges.get(n);
+				if (variableChange != null)
+					return variableChange.value;
 			}
+
+			return variables.getVariable(shard, n);
 		}
 	}
 
@@ -493,16 +461,13 @@ public class Variables {
 	 */
 	public static Iterator<Pair<String, Object>> getVariableIterator(String name, boolean local, @Nullable Event event) {
 		assert name.endsWith("*");
-		Object val = getVariable(name, event, local);
+		Object[] entries = getListEntries(name, event, local, false);
+		if (entries == null)
+			return new EmptyIterator<>();
 		String subName = StringUtils.substring(name, 0, -1);
 
-		if (val == null)
-			return new EmptyIterator<>();
-		assert val instanceof TreeMap;
-		// temporary list to prevent CMEs
-		@SuppressWarnings("unchecked")
-		Iterator<String> keys = new ArrayList<>(((Map<String, Object>) val).keySet()).iterator();
 		return new Iterator<>() {
+			private int index = 0;
 			@Nullable
 			private String key;
 			@Nullable
@@ -512,13 +477,11 @@ public class Variables {
 			public boolean hasNext() {
 				if (next != null)
 					return true;
-				while (keys.hasNext()) {
-					key = keys.next();
-					if (key != null) {
-						next = Variable.convertIfOldPlayer(subName + key, local, event, Variables.getVariable(subName + key, event, local));
-						if (next != null && !(next instanceof TreeMap))
-							return true;
-					}
+				while (index < entries.length) {
+					key = (String) entries[index++];
+					next = Variable.convertIfOldPlayer(subName + key, local, event, entries[index++]);
+					if (next != null)
+						return true;
 				}
 				next = null;
 				return false;
@@ -537,11 +500,110 @@ public class Variables {
 			public void remove() {
 				if (key == null)
 					throw new IllegalStateException();
-				Variables.deleteVariable(key, event, local);
+				Variables.deleteVariable(subName + key, event, local);
 			}
 		};
 	}
 
+	/**
+	 * Takes a snapshot of the elements of a list variable, reading the list directly instead of looking up each element.
+	 * Global lists are read with a single acquisition of their shard's lock.
+	 *
+	 * @param name the list variable's name, ending in *.
+	 * @param event if {@code local} is {@code true}, this is the event the local variable resides in.
+	 * @param local if this variable is a local or global variable.
+	 * @param recursive whether the elements of sublists are included, with their indices relative to the list.
+	 * @return the indices and values of the elements of the list, alternating,
+	 * 			or {@code null} if the variable does not exist.
+	 */
+	public static Object @Nullable [] getListEntries(String name, @Nullable Event event, boolean local, boolean recursive) {
+		String n = caseInsensitiveVariables ? name.toLowerCase(Locale.ENGLISH) : name;
+
+		if (local) {
+			VariablesMap map = localVariables.get(event);
+			return map == null ? null : getListEntries(map.getVariable(n), recursive);
+		}
+
+		ShardedVariablesMap.Shard shard = variables.getShard(n);
+		boolean pending = !shard.pendingChanges.isEmpty();
+		if (pending && shard.pendingChanges.containsKey(n)) {
+			// the list has a pending change, which can only be its deletion
+			return null;
+		}
+
+		Object[] entries;
+		shard.lock.readLock().lock();
+		try {
+			entries = getListEntries(shard.map.getVariable(n), recursive);
+		} finally {
+			shard.lock.readLock().unlock();
+		}
+		if (entries == null || !pending)
+			return entries;
+
+		// prevent race conditions from returning elements with outdated values, see getVariable
+		String subName = StringUtils.substring(n, 0, -1);
+		for (int i = 0; i < entries.length; i += 2) {
+			VariableChange variableChange = shard.pendingChanges.get(subName + entries[i]);
+			if (variableChange != null)
+				entries[i + 1] = variableChange.value;
+		}
+		return entries;
+	}
+
+	/**
+	 * Takes a snapshot of the elements of the internal value of a list variable.
+	 * The caller is responsible for holding the lock of a global list, see {@link #getListEntries(String, Event, boolean, boolean)}.
+	 *
+	 * @param list the internal value of a list variable.
+	 * @param recursive whether the elements of sublists are included, with their indices relative to the list.
+	 * @return the indices and values of the elements of the list, alternating,
+	 * 			or {@code null} if the given value is not a list.
+	 */
+	public static Object @Nullable [] getListEntries(@Nullable Object list, boolean recursive) {
+		if (!(list instanceof Map<?, ?> map))
+			return null;
+		if (recursive) {
+			List<Object> entries = new ArrayList<>();
+			addEntriesRecursive(map, "", entries);
+			return entries.toArray();
+		}
+		Object[] entries = new Object[map.size() * 2];
+		int size = 0;
+		for (Entry<?, ?> entry : map.entrySet()) {
+			Object value = entry.getValue();
+			if (entry.getKey() == null || value == null)
+				continue;
+			// the value of a sublist's node is stored in the sublist itself, see VariablesMap#setVariable
+			if (value instanceof Map<?, ?> sublist) {
+				value = sublist.get(null);
+				if (value == null)
+					continue;
+			}
+			entries[size++] = entry.getKey();
+			entries[size++] = value;
+		}
+		return size == entries.length ? entries : Arrays.copyOf(entries, size);
+	}
+
+	private static void addEntriesRecursive(Map<?, ?> list, String prefix, List<Object> entries) {
+		for (Entry<?, ?> entry : list.entrySet()) {
+			Object value = entry.getValue();
+			if (entry.getKey() == null || value == null)
+				continue;
+			String key = prefix + entry.getKey();
+			if (value instanceof Map<?, ?> sublist) {
+				// a sublist's elements come before its node's own value
+				addEntriesRecursive(sublist, key + Variable.SEPARATOR, entries);
+				value = sublist.get(null);
+				if (value == null)
+					continue;
+			}
+			entries.add(key);
+			entries.add(value);
+		}
+	}
+
 	/**
 	 * Deletes a variable.
 	 *
@@ -574,14 +636,7 @@ public class Variables {
 		// Check if conversion is needed due to ClassInfo#getSerializeAs
 		if (value != null) {
 			assert !name.endsWith("::*");
-
-			ClassInfo<?> ci = Classes.getSuperClassInfo(value.getClass());
-			Class<?> sas = ci.getSerializeAs();
-
-			if (sas != null) {
-				value = Converters.convert(value, sas);
-				assert value != null : ci + ", " + sas;
-			}
+			value = convertForStorage(value);
 		}
 
 		if (local) {
@@ -595,6 +650,89 @@ public class Variables {
 		}
 	}
 
+	/**
+	 * Converts the given value to the type it should be stored as, see {@link ClassInfo#getSerializeAs()}.
+	 */
+	private static Object convertForStorage(Object value) {
+		ClassInfo<?> ci = Classes.getSuperClassInfo(value.getClass());
+		Class<?> sas = ci.getSerializeAs();
+
+		if (sas != null) {
+			value = Converters.convert(value, sas);
+			assert value != null : ci + ", " + sas;
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the value of a local variable with a slot.
+	 *
+	 * @param slots the slots of the script the variable is used in.
+	 * @param slot the slot of the variable, see {@link LocalVariableSlots#allocate(String)}.
+	 * @param name the variable's name, in the case it is stored in.
+	 * @param event the event the local variable resides in.
+	 * @return the value of the variable, or {@code null} if it is not set.
+	 */
+	static @Nullable Object getLocalVariable(LocalVariableSlots slots, int slot, String name, Event event) {
+		VariablesMap map = localVariables.get(event);
+		if (map == null)
+			return null;
+		return map.getVariable(slots, slot, name);
+	}
+
+	/**
+	 * Sets a local variable with a slot.
+	 *
+	 * @param slots the slots of the script the variable is used in.
+	 * @param slot the slot of the variable, see {@link LocalVariableSlots#allocate(String)}.
+	 * @param name the variable's name, in the case it is stored in.
+	 * @param value the variable's value, {@code null} to delete the variable.
+	 * @param event the event the local variable resides in.
+	 */
+	static void setLocalVariable(LocalVariableSlots slots, int slot, String name, @Nullable Object value, Event event) {
+		if (value != null)
+			value = convertForStorage(value);
+
+		VariablesMap map = localVariables.get(event);
+		if (map == null) {
+			if (value == null)
+				return;
+			map = localVariables.computeIfAbsent(event, e -> new VariablesMap());
+		}
+		map.setVariable(slots, slot, name, value);
+	}
+
+	/**
+	 * Sets the elements of a local list variable, e.g. a list parameter of a function.
+	 * The list is built at once, which is faster than setting each element using {@link #setVariable(String, Object, Event, boolean)}.
+	 * Elements of the list that are already set are kept, unless they are replaced.
+	 *
+	 * @param name the list variable's name, excluding the trailing {@code ::*}.
+	 * @param indices the indices of the elements, or {@code null} to index them starting at {@code 0}.
+	 * @param values the values of the elements. {@code null} values are skipped.
+	 * @param event the event the local variable resides in.
+	 */
+	public static void setLocalList(String name, String @Nullable [] indices, Object[] values, Event event) {
+		assert indices == null || indices.length == values.length;
+		if (values.length == 0)
+			return;
+		if (caseInsensitiveVariables)
+			name = name.toLowerCase(Locale.ENGLISH);
+
+		String[] keys = new String[values.length];
+		Object[] converted = new Object[values.length];
+		for (int i = 0; i < values.length; i++) {
+			String key = indices == null ? String.valueOf(i) : indices[i];
+			if (caseInsensitiveVariables && indices != null)
+				key = key.toLowerCase(Locale.ENGLISH);
+			keys[i] = key;
+			converted[i] = values[i] == null ? null : convertForStorage(values[i]);
+		}
+
+		VariablesMap map = localVariables.computeIfAbsent(event, e -> new VariablesMap());
+		map.setList(name, keys, converted);
+	}
+
 	/**
 	 * Sets the given global variable name to the given value.
 	 *
@@ -602,32 +740,28 @@ public class Variables {
 	 * @param value the value, or {@code null} to delete the variable.
 	 */
 	static void setVariable(String name, @Nullable Object value) {
-		if (variablesLock.writeLock().tryLock()) {
+		ShardedVariablesMap.Shard shard = variables.getShard(name);
+		if (shard.lock.writeLock().tryLock()) {
 			try {
-				if (!changeQueue.isEmpty()) { // Process older, queued changes if available
-					processChangeQueue();
+				if (!shard.changeQueue.isEmpty()) { // Process older, queued changes if available
+					processChangeQueue(shard);
 				}
 				// Process and save requested change
-				variables.setVariable(name, value);
+				shard.map.setVariable(name, value);
 				saveVariableChange(name, value);
 			} finally {
-				variablesLock.writeLock().unlock();
+				shard.lock.writeLock().unlock();
 			}
 		} else {
-			// Couldn't acquire variable write lock, queue the change (blocking here is a bad idea)
-			queueVariableChange(name, value);
+			// Couldn't acquire the shard's write lock, queue the change (blocking here is a bad idea)
+			queueVariableChange(shard, name, value);
 		}
 	}
 
-	/**
-	 * Changes to variables that have not yet been performed.
-	 */
-	static final Queue<VariableChange> changeQueue = new ConcurrentLinkedQueue<>();
-
 	/**
 	 * A variable change name-value pair.
 	 */
-	private static class VariableChange {
+	static class VariableChange {
 
 		/**
 		 * The name of the changed variable.
@@ -640,6 +774,11 @@ public class Variables {
 		@Nullable
 		public final Object value;
 
+		/**
+		 * The {@link System#nanoTime()} at which this change was queued.
+		 */
+		public final long queuedAt;
+
 		/**
 		 * Creates a new {@link VariableChange} with the given name and value.
 		 *
@@ -649,6 +788,7 @@ public class Variables {
 		public VariableChange(String name, @Nullable Object value) {
 			this.name = name;
 			this.value = value;
+			this.queuedAt = System.nanoTime();
 		}
 
 	}
@@ -657,28 +797,88 @@ public class Variables {
 	 * Queues a variable change. Only to be called when direct write is not
 	 * possible, but thread cannot be allowed to block.
 	 *
+	 * @param shard the shard of the variable.
 	 * @param name the variable name.
 	 * @param value the new value.
 	 */
-	private static void queueVariableChange(String name, @Nullable Object value) {
-		changeQueue.add(new VariableChange(name, value));
+	private static void queueVariableChange(ShardedVariablesMap.Shard shard, String name, @Nullable Object value) {
+		VariableChange change = new VariableChange(name, value);
+		// The overlay must be updated first, so that a concurrent drain can't remove it before it was added
+		shard.pendingChanges.put(name, change);
+		shard.changeQueue.add(change);
+		pendingChangeCount.incrementAndGet();
+	}
+
+	/**
+	 * The amount of variable changes that have been queued, but not yet performed.
+	 */
+	private static final AtomicInteger pendingChangeCount = new AtomicInteger();
+
+	/**
+	 * How long the oldest change of the most recent drain of a change queue had been waiting, in nanoseconds.
+	 */
+	private static volatile long lastDrainLatency = 0;
+
+	/**
+	 * @return the amount of variable changes that have been queued as their shard was locked,
+	 * 			but not yet performed.
+	 */
+	public static int getPendingChangeCount() {
+		return pendingChangeCount.get();
+	}
+
+	/**
+	 * @return how long the oldest change processed by the most recent drain of a change queue
+	 * 			had been waiting to be performed, in nanoseconds.
+	 */
+	public static long getLastChangeQueueDrainLatency() {
+		return lastDrainLatency;
 	}
 
 	/**
-	 * Processes all entries in variable change queue.
+	 * Processes all entries in the variable change queue of the given shard.
 	 * <p>
-	 * Note that caller must acquire write lock before calling this,
+	 * Note that caller must acquire the write lock of the shard before calling this,
 	 * then release it.
+	 *
+	 * @param shard the shard to process the queued changes of.
 	 */
-	static void processChangeQueue() {
+	static void processChangeQueue(ShardedVariablesMap.Shard shard) {
+		boolean first = true;
 		while (true) { // Run as long as we still have changes
-			VariableChange change = changeQueue.poll();
+			VariableChange change = shard.changeQueue.poll();
 			if (change == null)
 				break;
+			pendingChangeCount.decrementAndGet();
+
+			// The first change of the queue is the one that waited the longest
+			if (first) {
+				lastDrainLatency = System.nanoTime() - change.queuedAt;
+				first = false;
+			}
 
 			// Set and save variable
-			variables.setVariable(change.name, change.value);
+			shard.map.setVariable(change.name, change.value);
 			saveVariableChange(change.name, change.value);
+
+			// Only remove the change from the overlay if no newer change was queued in the meantime
+			shard.pendingChanges.remove(change.name, change);
+		}
+	}
+
+	/**
+	 * Processes the queued variable changes of all shards whose write lock
+	 * can be acquired without waiting.
+	 */
+	static void tryProcessChangeQueues() {
+		for (ShardedVariablesMap.Shard shard : variables.getShards()) {
+			if (shard.changeQueue.isEmpty() || !shard.lock.writeLock().tryLock())
+				continue;
+			try {
+				processChangeQueue(shard);
+			} finally {
+				shard.lock.writeLock().unlock();
+			}
 		}
 	}
 
@@ -724,8 +924,18 @@ public class Variables {
 	static boolean variableLoaded(String name, @Nullable Object value, VariablesStorage source) {
 		assert Bukkit.isPrimaryThread(); // required by serialisation
 
-		if (value == null)
+		if (value == null) {
+			// A deletion (e.g. a later line of an append-only file): forget the value loaded earlier by the same storage
+			synchronized (TEMP_VARIABLES) {
+				Map<String, NonNullPair<Object, VariablesStorage>> tvs = TEMP_VARIABLES.get();
+				if (tvs != null) {
+					NonNullPair<Object, VariablesStorage> existingVariable = tvs.get(name);
+					if (existingVariable != null && existingVariable.getSecond() == source)
+						tvs.remove(name);
+				}
+			}
 			return false;
+		}
 
 		synchronized (TEMP_VARIABLES) {
 			Map<String, NonNullPair<Object, VariablesStorage>> tvs = TEMP_VARIABLES.get();
@@ -766,11 +976,12 @@ public class Variables {
 			}
 		}
 
-		variablesLock.writeLock().lock();
+		ShardedVariablesMap.Shard shard = variables.getShard(name);
+		shard.lock.writeLock().lock();
 		try {
-			variables.setVariable(name, value);
+			shard.map.setVariable(name, value);
 		} finally {
-			variablesLock.writeLock().unlock();
+			shard.lock.writeLock().unlock();
 		}
 
 		// Move the variable to the right storage
@@ -820,24 +1031,19 @@ public class Variables {
 			TEMP_VARIABLES.set(null);
 			assert tvs != null;
 
-			variablesLock.writeLock().lock();
-			try {
-				// Calculate the amount of variables that don't have a storage
-				int unstoredVariables = 0;
-				for (Entry<String, NonNullPair<Object, VariablesStorage>> tv : tvs.entrySet()) {
-					if (!variableLoaded(tv.getKey(), tv.getValue().getFirst(), tv.getValue().getSecond()))
-						unstoredVariables++;
-				}
+			// Calculate the amount of variables that don't have a storage
+			int unstoredVariables = 0;
+			for (Entry<String, NonNullPair<Object, VariablesStorage>> tv : tvs.entrySet()) {
+				if (!variableLoaded(tv.getKey(), tv.getValue().getFirst(), tv.getValue().getSecond()))
+					unstoredVariables++;
+			}
 
-				for (VariablesStorage variablesStorage : STORAGES)
-					variablesStorage.allLoaded();
+			for (VariablesStorage variablesStorage : STORAGES)
+				variablesStorage.allLoaded();
 
-				Skript.debug("Variables set. Queue size = " + saveQueue.size());
+			Skript.debug("Variables set. Queue size = " + saveQueue.size());
 
-				return unstoredVariables;
-			} finally {
-				variablesLock.writeLock().unlock();
-			}
+			return unstoredVariables;
 		}
 	}
 
@@ -888,7 +1094,9 @@ public class Variables {
 	private static void saveVariableChange(String name, @Nullable Object value) {
 		if (name.startsWith(Variable.EPHEMERAL_VARIABLE_TOKEN))
 			return;
-		saveQueue.add(serialize(name, value));
+		SerializedVariable variable = serialize(name, value);
+		saveBacklog.incrementAndGet();
+		saveQueue.add(variable);
 	}
 
 	/**
@@ -897,6 +1105,23 @@ public class Variables {
 	 */
 	static final BlockingQueue<SerializedVariable> saveQueue = new LinkedBlockingQueue<>();
 
+	/**
+	 * The amount of variable changes that have been added to the {@link #saveQueue},
+	 * but not yet been handed to their storage.
+	 */
+	private static final AtomicInteger saveBacklog = new AtomicInteger();
+
+	/**
+	 * The maximum amount of variable changes the {@link #saveThread} collects before handing them to the storages.
+	 */
+	private static final int MAX_SAVE_BATCH_SIZE = 1000;
+
+	/**
+	 * How long the {@link #saveThread} collects changes before handing them to the storages, in nanoseconds.
+	 * Changes to the same variable within this window are only saved once.
+	 */
+	private static final long SAVE_BATCH_WINDOW = TimeUnit.MILLISECONDS.toNanos(50);
+
 	/**
 	 * Whether the {@link #saveThread} should be stopped.
 	 */
@@ -904,13 +1129,41 @@ public class Variables {
 
 	/**
 	 * The thread that saves variables, i.e. stores in the appropriate storage.
+	 * <p>
+	 * Changes are collected for up to {@link #SAVE_BATCH_WINDOW}, keeping only the last change of each variable,
+	 * before they are handed to the storages, which {@link VariablesStorage#saveAll(List) write them in batches}.
 	 */
 	private static final Thread saveThread = Skript.newThread(() -> {
 		while (!closed) {
+			SerializedVariable first;
 			try {
-				// Save one variable change
-				SerializedVariable variable = saveQueue.take();
+				first = saveQueue.take();
+			} catch (InterruptedException ignored) {
+				continue;
+			}
+
+			// Collect the changes of this batch window, later changes replace earlier ones
+			Map<String, SerializedVariable> batch = new LinkedHashMap<>();
+			batch.put(first.name, first);
+			int taken = 1;
+			long deadline = System.nanoTime() + SAVE_BATCH_WINDOW;
+			while (taken < MAX_SAVE_BATCH_SIZE) {
+				long remaining = deadline - System.nanoTime();
+				if (remaining <= 0)
+					break;
+				SerializedVariable variable;
+				try {
+					variable = saveQueue.poll(remaining, TimeUnit.NANOSECONDS);
+				} catch (InterruptedException ignored) {
+					break; // save what we have, the closed field will indicate whether to stop
+				}
+				if (variable == null)
+					break;
+				batch.put(variable.name, variable);
+				taken++;
+			}
 
+			for (SerializedVariable variable : batch.values()) {
 				for (VariablesStorage variablesStorage : STORAGES) {
 					if (variablesStorage.accept(variable.name)) {
 						variablesStorage.save(variable);
@@ -918,27 +1171,41 @@ public class Variables {
 						break;
 					}
 				}
-			} catch (InterruptedException ignored) {}
+			}
+
+			saveBacklog.addAndGet(-taken);
 		}
 	}, "Skript variable save thread");
 
+	/**
+	 * @return the amount of variable changes that are waiting to be handed to their storage.
+	 * @see VariablesStorage#getLastBatchSize()
+	 * @see VariablesStorage#getLastFlushLatency()
+	 */
+	public static int getSaveBacklog() {
+		return saveBacklog.get();
+	}
+
 	/**
 	 * Closes the variable systems:
 	 * <ul>
-	 *     <li>Process all changes left in the {@link #changeQueue}.</li>
+	 *     <li>Process all changes left in the change queues of the {@link #variables} shards.</li>
 	 *     <li>Stops the {@link #saveThread}.</li>
 	 * </ul>
 	 */
 	public static void close() {
-		try { // Ensure that all changes are to save soon
-			variablesLock.writeLock().lock();
-			processChangeQueue();
-		} finally {
-			variablesLock.writeLock().unlock();
+		// Ensure that all changes are to save soon
+		for (ShardedVariablesMap.Shard shard : variables.getShards()) {
+			shard.lock.writeLock().lock();
+			try {
+				processChangeQueue(shard);
+			} finally {
+				shard.lock.writeLock().unlock();
+			}
 		}
 
-		// First, make sure all variables are saved
-		while (saveQueue.size() > 0) {
+		// First, make sure all variables are handed to their storages
+		while (saveBacklog.get() > 0) {
 			try {
 				Thread.sleep(10);
 			} catch (InterruptedException ignored) {}
@@ -955,12 +1222,7 @@ public class Variables {
 	 * @return the amount of variables.
 	 */
 	public static int numVariables() {
-		try {
-			variablesLock.readLock().lock();
-			return variables.hashMap.size();
-		} finally {
-			variablesLock.readLock().unlock();
-		}
+		return variables.size();
 	}
 
 }
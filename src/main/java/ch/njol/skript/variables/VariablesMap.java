@@ -9,6 +9,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A map for storing variables in a sorted and efficient manner.
@@ -122,13 +123,154 @@ final class VariablesMap {
 
 	/**
 	 * The map that stores all non-list variables.
+	 * For local variable maps, this does not contain variables stored in a {@link #slots slot},
+	 * except those that were set by name before the map stored any slot.
 	 */
-	final HashMap<String, Object> hashMap = new HashMap<>();
+	final Map<String, Object> hashMap;
 	/**
 	 * The tree of variables, branched by the list structure of the variables.
+	 * For local variable maps, this does not contain the values of variables that have a slot.
 	 */
 	final TreeMap<String, Object> treeMap = new TreeMap<>();
 
+	/**
+	 * Whether this map may store variables with a slot in {@link #slotValues}.
+	 */
+	private final boolean slotted;
+	/**
+	 * The slots of the script whose variables are stored in {@link #slotValues},
+	 * set by the first variable stored in a slot.
+	 * Variables of other scripts are stored by name, as their slots would collide.
+	 */
+	private @Nullable LocalVariableSlots slots;
+	/**
+	 * An open addressing table of the slots used in this map. As slots are allocated in parse order,
+	 * the slots used by a trigger are consecutive and rarely collide, making this an array access in most cases.
+	 * Slots are never removed from this table, a deleted variable just has a {@code null} value.
+	 */
+	private int @Nullable [] slotKeys;
+	private Object @Nullable [] slotValues;
+	private int slotCount;
+
+	/**
+	 * Creates a new map for storing local variables, which may only be accessed by one thread at a time.
+	 */
+	VariablesMap() {
+		this(false);
+	}
+
+	/**
+	 * Creates a new map for storing variables.
+	 *
+	 * @param concurrent whether the {@link #hashMap} should support being read
+	 *                   while the map is modified by another thread.
+	 *                   Concurrent maps do not use slots.
+	 */
+	VariablesMap(boolean concurrent) {
+		hashMap = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+		slotted = !concurrent;
+	}
+
+	/**
+	 * @param name the variable name.
+	 * @return the slot the variable is stored in, or {@code -1} if it is stored by name.
+	 */
+	private int getSlot(String name) {
+		return slotCount == 0 || slots == null ? -1 : slots.get(name);
+	}
+
+	/**
+	 * Returns the value of a variable that has a slot.
+	 *
+	 * @param slots the slots of the script the variable is used in.
+	 * @param slot the slot of the variable, as returned by {@link LocalVariableSlots#allocate(String)}.
+	 * @param name the name of the variable.
+	 * @return the value of the variable, or {@code null} if it is not set.
+	 */
+	@Nullable
+	Object getVariable(LocalVariableSlots slots, int slot, String name) {
+		assert slotted && slot > 0 : name;
+		if (slots != this.slots)
+			return getVariable(name);
+		int[] keys = slotKeys;
+		if (keys != null) {
+			int mask = keys.length - 1;
+			for (int i = slot & mask; keys[i] != 0; i = (i + 1) & mask) {
+				if (keys[i] == slot) {
+					assert slotValues != null;
+					return slotValues[i];
+				}
+			}
+		}
+		// the variable might have been set by name before this map stored any slot
+		return hashMap.isEmpty() ? null : hashMap.get(name);
+	}
+
+	/**
+	 * Sets a variable that has a slot to the given value.
+	 *
+	 * @param slots the slots of the script the variable is used in.
+	 * @param slot the slot of the variable, as returned by {@link LocalVariableSlots#allocate(String)}.
+	 * @param name the name of the variable.
+	 * @param value the variable value, {@code null} to delete the variable.
+	 */
+	void setVariable(LocalVariableSlots slots, int slot, String name, @Nullable Object value) {
+		assert slotted && slot > 0 : name;
+		if (this.slots == null) {
+			this.slots = slots;
+		} else if (slots != this.slots) {
+			setVariable(name, value);
+			return;
+		}
+		if (!hashMap.isEmpty() && hashMap.containsKey(name))
+			setMappedVariable(name, null);
+
+		int[] keys = slotKeys;
+		if (keys == null) {
+			if (value == null)
+				return;
+			keys = slotKeys = new int[8];
+			slotValues = new Object[8];
+		}
+		Object[] values = slotValues;
+		assert values != null;
+		int mask = keys.length - 1;
+		int i = slot & mask;
+		for (; keys[i] != 0; i = (i + 1) & mask) {
+			if (keys[i] == slot) {
+				values[i] = value;
+				return;
+			}
+		}
+		if (value == null)
+			return;
+		keys[i] = slot;
+		values[i] = value;
+		if (++slotCount * 2 > keys.length)
+			resizeSlots(keys.length * 2);
+	}
+
+	private void resizeSlots(int capacity) {
+		int[] oldKeys = slotKeys;
+		Object[] oldValues = slotValues;
+		assert oldKeys != null && oldValues != null;
+		int[] keys = new int[capacity];
+		Object[] values = new Object[capacity];
+		int mask = capacity - 1;
+		for (int j = 0; j < oldKeys.length; j++) {
+			int slot = oldKeys[j];
+			if (slot == 0)
+				continue;
+			int i = slot & mask;
+			while (keys[i] != 0)
+				i = (i + 1) & mask;
+			keys[i] = slot;
+			values[i] = oldValues[j];
+		}
+		slotKeys = keys;
+		slotValues = values;
+	}
+
 	/**
 	 * Returns the internal value of the requested variable.
 	 * <p>
@@ -143,6 +285,13 @@ final class VariablesMap {
 	@Nullable
 	Object getVariable(String name) {
 		if (!name.endsWith("*")) {
+			if (slotted) {
+				int slot = getSlot(name);
+				if (slot != -1) {
+					assert slots != null;
+					return getVariable(slots, slot, name);
+				}
+			}
 			// Not a list variable, quick access from the hash map
 			return hashMap.get(name);
 		} else {
@@ -187,8 +336,26 @@ final class VariablesMap {
 	 * @param name the variable name.
 	 * @param value the variable value, {@code null} to delete the variable.
 	 */
-	@SuppressWarnings("unchecked")
 	void setVariable(String name, @Nullable Object value) {
+		if (slotted) {
+			int slot = getSlot(name);
+			if (slot != -1) {
+				assert slots != null;
+				setVariable(slots, slot, name, value);
+				return;
+			}
+		}
+		setMappedVariable(name, value);
+	}
+
+	/**
+	 * Sets the given variable in the {@link #hashMap} and {@link #treeMap}.
+	 *
+	 * @param name the variable name.
+	 * @param value the variable value, {@code null} to delete the variable.
+	 */
+	@SuppressWarnings("unchecked")
+	private void setMappedVariable(String name, @Nullable Object value) {
 		// First update the hash map easily
 		if (!name.endsWith("*")) {
 			if (value == null)
@@ -282,6 +449,51 @@ final class VariablesMap {
 		}
 	}
 
+	/**
+	 * Sets the elements of a list variable.
+	 * If the list does not exist yet, it is built at once instead of setting each element separately.
+	 *
+	 * @param name the list variable's name, excluding the trailing {@code ::*}.
+	 * @param indices the indices of the elements.
+	 * @param values the values of the elements. {@code null} values are skipped.
+	 */
+	void setList(String name, String[] indices, @Nullable Object[] values) {
+		String prefix = name + Variable.SEPARATOR;
+		Object current = treeMap.get(name);
+		if (current instanceof TreeMap || name.contains(Variable.SEPARATOR) || containsSeparator(indices)) {
+			// the list exists already or needs nested lists, set it element by element
+			for (int i = 0; i < values.length; i++) {
+				if (values[i] != null)
+					setVariable(prefix + indices[i], values[i]);
+			}
+			return;
+		}
+
+		TreeMap<String, Object> list = new TreeMap<>(VARIABLE_NAME_COMPARATOR);
+		for (int i = 0; i < values.length; i++) {
+			Object value = values[i];
+			if (value == null)
+				continue;
+			list.put(indices[i], value);
+			hashMap.put(prefix + indices[i], value);
+		}
+		if (list.isEmpty())
+			return;
+
+		// keep the value of the variable with the name of the list, see setMappedVariable
+		if (current != null)
+			list.put(null, current);
+		treeMap.put(name, list);
+	}
+
+	private static boolean containsSeparator(String[] indices) {
+		for (String index : indices) {
+			if (index.contains(Variable.SEPARATOR))
+				return true;
+		}
+		return false;
+	}
+
 	/**
 	 * Deletes all indices of a list variable from the {@link #hashMap}.
 	 *
@@ -320,6 +532,14 @@ final class VariablesMap {
 		TreeMap<String, Object> treeMapCopy = copyTreeMap(treeMap);
 		copy.treeMap.putAll(treeMapCopy);
 
+		if (slotKeys != null) {
+			assert slotValues != null;
+			copy.slots = slots;
+			copy.slotKeys = slotKeys.clone();
+			copy.slotValues = slotValues.clone();
+			copy.slotCount = slotCount;
+		}
+
 		return copy;
 	}
 
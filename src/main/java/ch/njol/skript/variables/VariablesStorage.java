@@ -4,6 +4,9 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.regex.Pattern;
@@ -45,8 +48,23 @@ public abstract class VariablesStorage implements Closeable {
 	 */
 	private static final int FIRST_WARNING = 300;
 
+	/**
+	 * The maximum amount of variables passed to {@link #saveAll(List)} at once.
+	 */
+	private static final int MAX_BATCH_SIZE = 500;
+
 	final LinkedBlockingQueue<SerializedVariable> changesQueue = new LinkedBlockingQueue<>(QUEUE_SIZE);
 
+	/**
+	 * The amount of variables written by the last {@link #saveAll(List)} call of the {@link #writeThread}.
+	 */
+	private volatile int lastBatchSize = 0;
+
+	/**
+	 * How long the last {@link #saveAll(List)} call of the {@link #writeThread} took, in nanoseconds.
+	 */
+	private volatile long lastFlushLatency = 0;
+
 	/**
 	 * Whether this variable storage has been {@link #close() closed}.
 	 */
@@ -97,15 +115,20 @@ public abstract class VariablesStorage implements Closeable {
 		writeThread = Skript.newThread(() -> {
 			while (!closed) {
 				try {
-					// Take a variable from the queue and process it
-					SerializedVariable variable = changesQueue.take();
-					Value value = variable.value;
-
-					// Actually save the variable
-					if (value != null)
-						save(variable.name, value.type, value.data);
-					else
-						save(variable.name, null, null);
+					// Take a variable from the queue, along with all other variables that are waiting
+					SerializedVariable first = changesQueue.take();
+					Map<String, SerializedVariable> batch = new LinkedHashMap<>();
+					batch.put(first.name, first);
+					List<SerializedVariable> drained = new ArrayList<>();
+					changesQueue.drainTo(drained, MAX_BATCH_SIZE - 1);
+					for (SerializedVariable variable : drained)
+						batch.put(variable.name, variable); // later changes replace earlier ones
+
+					// Actually save the variables
+					long start = System.nanoTime();
+					saveAll(new ArrayList<>(batch.values()));
+					lastFlushLatency = System.nanoTime() - start;
+					lastBatchSize = batch.size();
 				} catch (InterruptedException ignored) {
 					// Ignored as the `closed` field will indicate whether the thread actually needs to stop
 				}
@@ -313,8 +336,8 @@ public abstract class VariablesStorage implements Closeable {
 	protected abstract File getFile(String fileName);
 
 	/**
-	 * Must be locked after {@link Variables#getReadLock()}
-	 * (if that lock is used at all).
+	 * Guards the connection to the database.
+	 * Must not be held while waiting for the lock of a {@link ShardedVariablesMap.Shard variables shard}.
 	 */
 	protected final Object connectionLock = new Object();
 
@@ -391,6 +414,21 @@ public abstract class VariablesStorage implements Closeable {
 		return variableNamePattern == null || variableNamePattern.matcher(var).matches();
 	}
 
+	/**
+	 * Checks if this storage is the one saving the given variable,
+	 * i.e. whether it is the first of the {@link Variables#STORAGES storages} {@link #accept(String) accepting} it.
+	 *
+	 * @param var the variable name.
+	 * @return {@code true} if this storage saves the given variable.
+	 */
+	final boolean isResponsibleFor(String var) {
+		for (VariablesStorage storage : Variables.STORAGES) {
+			if (storage.accept(var))
+				return storage == this;
+		}
+		return false;
+	}
+
 	/**
 	 * Returns the name pattern accepted by this variable storage
 	 * @return the name pattern, or null if accepting all
@@ -509,4 +547,42 @@ public abstract class VariablesStorage implements Closeable {
 	 */
 	protected abstract boolean save(String name, @Nullable String type, @Nullable byte[] value);
 
+	/**
+	 * Saves multiple variables at once.
+	 * <p>
+	 * This is called from the {@link #writeThread} with all changes that were waiting to be written.
+	 * The names of the given variables are unique, so they may be written in any order.
+	 * <p>
+	 * The default implementation calls {@link #save(String, String, byte[])} for each variable.
+	 * Storages that can write multiple variables more efficiently than one by one should override this.
+	 *
+	 * @param variables the variables to save.
+	 * @return Whether all variables were saved.
+	 */
+	protected boolean saveAll(List<SerializedVariable> variables) {
+		boolean success = true;
+		for (SerializedVariable variable : variables) {
+			Value value = variable.value;
+			if (value != null)
+				success &= save(variable.name, value.type, value.data);
+			else
+				success &= save(variable.name, null, null);
+		}
+		return success;
+	}
+
+	/**
+	 * @return the amount of variables written in the last batch of this storage.
+	 */
+	public int getLastBatchSize() {
+		return lastBatchSize;
+	}
+
+	/**
+	 * @return how long writing the last batch of this storage took, in nanoseconds.
+	 */
+	public long getLastFlushLatency() {
+		return lastFlushLatency;
+	}
+
 }
@@ -7,6 +7,9 @@ import org.jetbrains.annotations.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 import java.io.NotSerializableException;
 import java.io.StreamCorruptedException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
@@ -17,6 +20,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 @NotThreadSafe
@@ -40,10 +44,10 @@ public final class Fields implements Iterable<FieldContext> {
 			this.id = id;
 		}
 		
-		FieldContext(Field field, Object object) throws IllegalArgumentException, IllegalAccessException {
-			id = Yggdrasil.getID(field);
-			value = field.get(object);
-			isPrimitiveValue = field.getType().isPrimitive();
+		FieldContext(String id, @Nullable Object value, boolean isPrimitiveValue) {
+			this.id = id;
+			this.value = value;
+			this.isPrimitiveValue = isPrimitiveValue;
 		}
 		
 		public String getID() {
@@ -130,6 +134,20 @@ public final class Fields implements Iterable<FieldContext> {
 			}
 		}
 		
+		/**
+		 * Sets the field through its cached accessor. The field is known to be serializable,
+		 * as accessors only exist for fields returned by {@link #getFields(Class)}.
+		 */
+		void setField(Object object, FieldAccessor accessor, Yggdrasil yggdrasil) throws StreamCorruptedException {
+			Field field = accessor.field;
+			if (accessor.primitive != isPrimitiveValue)
+				throw new StreamCorruptedException("The field " + id + " of " + field.getDeclaringClass() + " is " + (accessor.primitive ? "" : "not ") + "primitive");
+			if (!accessor.set(object, value)) {
+				if (!(object instanceof YggdrasilRobustSerializable) || !((YggdrasilRobustSerializable) object).incompatibleField(field, this))
+					yggdrasil.incompatibleField(object, field, this);
+			}
+		}
+		
 		@Override
 		public int hashCode() {
 			return id.hashCode();
@@ -175,10 +193,8 @@ public final class Fields implements Iterable<FieldContext> {
 	 */
 	public Fields(Class<?> type, Yggdrasil yggdrasil) throws NotSerializableException {
 		this.yggdrasil = yggdrasil;
-		for (Field field : getFields(type)) {
-			assert field != null;
-			String id = Yggdrasil.getID(field);
-			fields.put(id, new FieldContext(id));
+		for (FieldAccessor accessor : getAccessors(type)) {
+			fields.put(accessor.id, new FieldContext(accessor.id));
 		}
 	}
 	
@@ -206,17 +222,104 @@ public final class Fields implements Iterable<FieldContext> {
 		this.yggdrasil = yggdrasil;
 		Class<?> type = object.getClass();
 		assert type != null;
-		for (Field field : getFields(type)) {
-			assert field != null;
+		for (FieldAccessor accessor : getAccessors(type)) {
+			fields.put(accessor.id, new FieldContext(accessor.id, accessor.get(object), accessor.primitive));
+		}
+	}
+	
+	// concurrent, as values may be deserialized on multiple threads at once
+	private static final Map<Class<?>, Collection<Field>> cache = new ConcurrentHashMap<>();
+	private static final Map<Class<?>, FieldAccessor[]> accessorCache = new ConcurrentHashMap<>();
+	
+	/**
+	 * Reads and writes a serializable field through method handles, which are much faster than reflection.
+	 * Falls back to reflection for fields that can't be written through a method handle, e.g. final fields of records.
+	 */
+	static final class FieldAccessor {
+		
+		private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+		private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+		
+		final Field field;
+		final String id;
+		final boolean primitive;
+		
+		private final MethodHandle getter;
+		@Nullable
+		private final MethodHandle setter;
+		
+		FieldAccessor(Field field) throws IllegalAccessException {
+			this.field = field;
+			id = Yggdrasil.getID(field);
+			primitive = field.getType().isPrimitive();
+			// the field has been made accessible, so the lookup does not need access to its class
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+			MethodHandle setter;
 			try {
-				fields.put(Yggdrasil.getID(field), new FieldContext(field, object));
-			} catch (IllegalArgumentException | IllegalAccessException e) {
-				assert false;
+				setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+			} catch (IllegalAccessException e) {
+				setter = null;
 			}
+			this.setter = setter;
 		}
+		
+		@Nullable
+		Object get(Object object) {
+			try {
+				return (Object) getter.invokeExact(object);
+			} catch (Throwable throwable) {
+				throw new YggdrasilException("Could not read the field " + id + " of " + object.getClass(), throwable);
+			}
+		}
+		
+		/**
+		 * @return Whether the value was set, false if it was not compatible with the field.
+		 */
+		boolean set(Object object, @Nullable Object value) {
+			MethodHandle setter = this.setter;
+			try {
+				if (setter != null) {
+					setter.invokeExact(object, value);
+				} else {
+					field.set(object, value);
+				}
+				return true;
+			} catch (ClassCastException | NullPointerException | IllegalArgumentException e) {
+				return false;
+			} catch (IllegalAccessException e) {
+				assert false : e;
+				return false;
+			} catch (Throwable throwable) {
+				throw new YggdrasilException("Could not set the field " + id + " of " + object.getClass(), throwable);
+			}
+		}
+		
 	}
 	
-	private static final Map<Class<?>, Collection<Field>> cache = new HashMap<>();
+	/**
+	 * Gets accessors for all serializable fields of the provided class, including superclasses.
+	 * They are created once per class and shared afterwards.
+	 * 
+	 * @see #getFields(Class)
+	 */
+	static FieldAccessor[] getAccessors(Class<?> type) throws NotSerializableException {
+		FieldAccessor[] accessors = accessorCache.get(type);
+		if (accessors != null)
+			return accessors;
+		Collection<Field> fields = getFields(type);
+		accessors = new FieldAccessor[fields.size()];
+		int i = 0;
+		for (Field field : fields) {
+			try {
+				accessors[i++] = new FieldAccessor(field);
+			} catch (IllegalAccessException e) {
+				throw new YggdrasilException("Could not access the field " + field.getName() + " of " + type, e);
+			}
+		}
+		accessorCache.put(type, accessors);
+		return accessors;
+	}
 
 	/**
 	 * Creates a Fields object with a single object field.
@@ -320,15 +423,13 @@ public final class Fields implements Iterable<FieldContext> {
 		Set<FieldContext> excessive = new HashSet<>(fields.values());
 		Class<?> type = object.getClass();
 		assert type != null;
-		for (Field field : getFields(type)) {
-			assert field != null;
-			String id = Yggdrasil.getID(field);
-			FieldContext context = fields.get(id);
+		for (FieldAccessor accessor : getAccessors(type)) {
+			FieldContext context = fields.get(accessor.id);
 			if (context == null) {
-				if (!(object instanceof YggdrasilRobustSerializable) || !((YggdrasilRobustSerializable) object).missingField(field))
-					yggdrasil.missingField(object, field);
+				if (!(object instanceof YggdrasilRobustSerializable) || !((YggdrasilRobustSerializable) object).missingField(accessor.field))
+					yggdrasil.missingField(object, accessor.field);
 			} else {
-				context.setField(object, field, yggdrasil);
+				context.setField(object, accessor, yggdrasil);
 			}
 			excessive.remove(context);
 		}
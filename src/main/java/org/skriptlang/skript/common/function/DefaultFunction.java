@@ -70,6 +70,15 @@ public sealed interface DefaultFunction<T>
 		@Contract("_ -> this")
 		Builder<T> contract(@NotNull ch.njol.skript.util.Contract contract);
 
+		/**
+		 * Sets this function builder's modifiers, e.g. {@link FunctionModifier#PURE}.
+		 *
+		 * @param modifiers The modifiers.
+		 * @return This builder.
+		 */
+		@Contract("_ -> this")
+		Builder<T> modifiers(@NotNull FunctionModifier @NotNull ... modifiers);
+
 		/**
 		 * Sets this function builder's description.
 		 *
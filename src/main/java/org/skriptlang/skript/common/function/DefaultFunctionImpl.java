@@ -32,6 +32,7 @@ final class DefaultFunctionImpl<T> extends ch.njol.skript.lang.function.Function
 			SequencedMap<String, Parameter<?>> parameters,
 			Class<T> returnType, boolean single,
 			@Nullable ch.njol.skript.util.Contract contract,
+			FunctionModifier[] modifiers,
 			Function<FunctionArguments, T> execute,
 			String[] description, String[] since, String[] examples,
 			String[] keywords, String[] requires
@@ -44,6 +45,8 @@ final class DefaultFunctionImpl<T> extends ch.njol.skript.lang.function.Function
 		Preconditions.checkNotNull(returnType, "return type cannot be null");
 		Preconditions.checkNotNull(execute, "execute cannot be null");
 
+		getSignature().addModifiers(modifiers);
+
 		this.source = source;
 		this.parameters = parameters;
 		this.execute = execute;
@@ -189,6 +192,7 @@ final class DefaultFunctionImpl<T> extends ch.njol.skript.lang.function.Function
 		private final SequencedMap<String, Parameter<?>> parameters = new LinkedHashMap<>();
 
 		private ch.njol.skript.util.Contract contract = null;
+		private FunctionModifier[] modifiers = new FunctionModifier[0];
 
 		private String[] description;
 		private String[] since;
@@ -214,6 +218,16 @@ final class DefaultFunctionImpl<T> extends ch.njol.skript.lang.function.Function
 			return this;
 		}
 
+		@Override
+		public Builder<T> modifiers(@NotNull FunctionModifier @NotNull ... modifiers) {
+			Preconditions.checkNotNull(modifiers, "modifiers cannot be null");
+			for (FunctionModifier modifier : modifiers)
+				Preconditions.checkNotNull(modifier, "modifiers contents cannot be null");
+
+			this.modifiers = modifiers;
+			return this;
+		}
+
 		@Override
 		public Builder<T> description(@NotNull String @NotNull ... description) {
 			Preconditions.checkNotNull(description, "description cannot be null");
@@ -273,7 +287,7 @@ final class DefaultFunctionImpl<T> extends ch.njol.skript.lang.function.Function
 			Preconditions.checkNotNull(execute, "execute cannot be null");
 
 			return new DefaultFunctionImpl<>(source, name, parameters,
-					returnType, !returnType.isArray(), contract, execute,
+					returnType, !returnType.isArray(), contract, modifiers, execute,
 					description, since, examples, keywords, requires);
 		}
 
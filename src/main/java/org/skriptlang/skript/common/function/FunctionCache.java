@@ -0,0 +1,183 @@
+package org.skriptlang.skript.common.function;
+
+import ch.njol.skript.lang.KeyedValue;
+import ch.njol.skript.registrations.Classes;
+import ch.njol.skript.util.Date;
+import ch.njol.skript.util.Timespan;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of the results of a {@link FunctionModifier#PURE pure} function, keyed by the arguments of each call.
+ * Arguments are compared using {@link Object#equals(Object)}, with arrays being compared element by element.
+ * <p>
+ * Values are {@link Classes#clone(Object) cloned} when they are put into and taken from the cache,
+ * so that changing a returned value does not change the cached one.
+ * <p>
+ * Only calls whose arguments and result are plain values, such as texts, numbers or timespans, are cached.
+ * Objects like players, entities or worlds would be kept in memory by the cache until their call's result expires.
+ */
+@Internal
+public final class FunctionCache {
+
+	/**
+	 * The maximum amount of results cached for each function. A size of 0 disables caching.
+	 */
+	public static volatile int maximumSize = 1000;
+
+	/**
+	 * The time in milliseconds after which a cached result expires, or 0 if results do not expire.
+	 */
+	public static volatile long expiryMillis = 5 * 60 * 1000;
+
+	private static final LongAdder totalHits = new LongAdder();
+	private static final LongAdder totalMisses = new LongAdder();
+
+	private final Cache<Key, Result> cache;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Creates a cache using the current {@link #maximumSize} and {@link #expiryMillis}.
+	 *
+	 * @return The new cache, or null if caching is disabled.
+	 */
+	public static @Nullable FunctionCache create() {
+		int maximumSize = FunctionCache.maximumSize;
+		if (maximumSize <= 0)
+			return null;
+		return new FunctionCache(maximumSize, expiryMillis);
+	}
+
+	public FunctionCache(long maximumSize, long expiryMillis) {
+		CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().maximumSize(maximumSize);
+		if (expiryMillis > 0)
+			builder.expireAfterWrite(expiryMillis, TimeUnit.MILLISECONDS);
+		cache = builder.build();
+	}
+
+	/**
+	 * Looks up the result of a call.
+	 *
+	 * @param arguments The arguments of the call.
+	 * @return The cached result, or null if the call is not cached.
+	 */
+	public @Nullable Result get(Object[] arguments) {
+		if (!isValue(arguments))
+			return null;
+		Result result = cache.getIfPresent(new Key(arguments));
+		if (result != null) {
+			hits.increment();
+			totalHits.increment();
+		} else {
+			misses.increment();
+			totalMisses.increment();
+		}
+		return result;
+	}
+
+	/**
+	 * Caches the result of a call, unless its arguments or result are not plain values.
+	 *
+	 * @param arguments The arguments of the call.
+	 * @param value The value returned by the call, or null if it returned nothing.
+	 */
+	public void put(Object[] arguments, @Nullable Object value) {
+		if (!isValue(arguments) || !isValue(value))
+			return;
+		cache.put(new Key((Object[]) Classes.clone(arguments)), new Result(value == null ? null : Classes.clone(value)));
+	}
+
+	/**
+	 * @return Whether the given object is a value that may be kept by the cache. Arrays and keyed values are checked element by element.
+	 */
+	static boolean isValue(@Nullable Object object) {
+		if (object == null || object instanceof String || object instanceof Number || object instanceof Boolean
+				|| object instanceof Character || object instanceof Enum<?> || object instanceof Timespan
+				|| object instanceof Date || object instanceof Vector)
+			return true;
+		if (object instanceof KeyedValue<?> keyedValue)
+			return isValue(keyedValue.value());
+		if (object instanceof Object[] array) {
+			for (Object element : array) {
+				if (!isValue(element))
+					return false;
+			}
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Removes all cached results.
+	 */
+	public void clear() {
+		cache.invalidateAll();
+	}
+
+	/**
+	 * @return The amount of calls that were served from this cache.
+	 */
+	public long hits() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return The amount of calls that were not served from this cache.
+	 */
+	public long misses() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return The amount of calls that were served from the cache of any function.
+	 */
+	public static long totalHits() {
+		return totalHits.sum();
+	}
+
+	/**
+	 * @return The amount of calls of pure functions that were not served from a cache.
+	 */
+	public static long totalMisses() {
+		return totalMisses.sum();
+	}
+
+	/**
+	 * A cached result of a call.
+	 *
+	 * @param value The returned value, or null if the call returned nothing.
+	 */
+	public record Result(@Nullable Object value) {
+
+		/**
+		 * @return A copy of the returned value, which may be changed by the caller.
+		 */
+		public @Nullable Object copy() {
+			return value == null ? null : Classes.clone(value);
+		}
+
+	}
+
+	private record Key(Object[] arguments) {
+
+		@Override
+		public boolean equals(Object object) {
+			return object instanceof Key key && Arrays.deepEquals(arguments, key.arguments);
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.deepHashCode(arguments);
+		}
+
+	}
+
+}
@@ -0,0 +1,25 @@
+package org.skriptlang.skript.common.function;
+
+/**
+ * Represents a modifier that can be applied to a whole function,
+ * as opposed to a {@link Parameter.Modifier} which is applied to a single parameter.
+ *
+ * @see Signature#modifiers()
+ */
+public interface FunctionModifier {
+
+	/**
+	 * @return A new FunctionModifier instance to be used as a custom flag.
+	 */
+	static FunctionModifier of() {
+		return new FunctionModifier() { };
+	}
+
+	/**
+	 * The modifier for pure functions, i.e. functions whose result only depends on their arguments,
+	 * and which do not have any side effects.
+	 * Calls of pure functions may be served from a {@link FunctionCache} instead of executing the function.
+	 */
+	FunctionModifier PURE = of();
+
+}
@@ -35,6 +35,22 @@ public class FunctionParser {
 	 * @see Functions#registerSignature(ch.njol.skript.lang.function.Signature)
 	 */
 	public static @Nullable ch.njol.skript.lang.function.Signature<?> parse(String script, String name, String args, @Nullable String returns, boolean local) {
+		return parse(script, name, args, returns, local, new FunctionModifier[0]);
+	}
+
+	/**
+	 * Parses the signature from the given arguments.
+	 *
+	 * @param script    Script file name (<b>might</b> be used for some checks).
+	 * @param name      The name of the function.
+	 * @param args      The parameters of the function.
+	 * @param returns   The return type of the function, or null if the function should not return anything.
+	 * @param local     If the signature of function is local.
+	 * @param modifiers The modifiers of the function.
+	 * @return Parsed signature or null if something went wrong.
+	 * @see Functions#registerSignature(ch.njol.skript.lang.function.Signature)
+	 */
+	public static @Nullable ch.njol.skript.lang.function.Signature<?> parse(String script, String name, String args, @Nullable String returns, boolean local, FunctionModifier... modifiers) {
 		Parameters parameters = parseParameters(args);
 		if (parameters == null)
 			return null;
@@ -61,10 +77,11 @@ public class FunctionParser {
 				returnType = returnClass.getC();
 			}
 
-			return new ch.njol.skript.lang.function.Signature<>(script, name, parameters, returnType, local);
 		}
 
-		return new ch.njol.skript.lang.function.Signature<>(script, name, parameters, returnType, local);
+		ch.njol.skript.lang.function.Signature<?> signature = new ch.njol.skript.lang.function.Signature<>(script, name, parameters, returnType, local);
+		signature.addModifiers(modifiers);
+		return signature;
 	}
 
 	/**
@@ -164,10 +164,37 @@ public final class FunctionReference<T> implements Debuggable {
 		Function<T> function = function();
 		FunctionEvent<?> fnEvent = new FunctionEvent<>(function);
 
+		// like Function#execute(Object[][]), the event is called for cached calls too
 		if (Functions.callFunctionEvents)
 			Bukkit.getPluginManager().callEvent(fnEvent);
 
-		return function.execute(fnEvent, new FunctionArgumentsImpl(args));
+		FunctionCache cache = function instanceof ch.njol.skript.lang.function.Function<T> legacy ? legacy.getCache() : null;
+		Object[] key = null;
+		if (cache != null) {
+			key = cacheKey(args);
+			FunctionCache.Result result = cache.get(key);
+			if (result != null)
+				//noinspection unchecked
+				return (T) result.copy();
+		}
+
+		T value = function.execute(fnEvent, new FunctionArgumentsImpl(args));
+		if (cache != null && ((ch.njol.skript.lang.function.Function<T>) function).returnedKeys() == null)
+			cache.put(key, value);
+		return value;
+	}
+
+	/**
+	 * @return The names and values of the arguments of a call, interleaved.
+	 */
+	private static Object[] cacheKey(Map<String, Object> args) {
+		Object[] key = new Object[args.size() * 2];
+		int i = 0;
+		for (Map.Entry<String, Object> entry : args.entrySet()) {
+			key[i++] = entry.getKey();
+			key[i++] = entry.getValue();
+		}
+		return key;
 	}
 
 	private KeyedValue<?>[] evaluateKeyed(Expression<?> expression, Event event) {
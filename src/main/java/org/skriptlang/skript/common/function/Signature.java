@@ -8,6 +8,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
+import java.util.Set;
+
 /**
  * Represents a function signature.
  *
@@ -35,6 +37,21 @@ public interface Signature<T> {
 	@Experimental
 	Contract contract();
 
+	/**
+	 * @return An unmodifiable view of the modifiers of this signature.
+	 */
+	default @UnmodifiableView @NotNull Set<FunctionModifier> modifiers() {
+		return Set.of();
+	}
+
+	/**
+	 * @param modifier The modifier.
+	 * @return Whether this signature has the specified modifier.
+	 */
+	default boolean hasModifier(FunctionModifier modifier) {
+		return modifiers().contains(modifier);
+	}
+
 	/**
 	 * Adds a reference to the clearing list.
 	 * @param reference The reference.
@@ -7,6 +7,7 @@ import org.jetbrains.annotations.Unmodifiable;
 import org.jetbrains.annotations.UnmodifiableView;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -17,20 +18,22 @@ public final class Arithmetics {
 
 	private static final Map<Operator, List<OperationInfo<?, ?, ?>>> OPERATIONS
 		= Collections.synchronizedMap(new HashMap<>());
-	private static final Map<Operator, Map<OperandTypes, OperationInfo<?, ?, ?>>> CACHED_OPERATIONS
-		= Collections.synchronizedMap(new HashMap<>());
-	private static final Map<Operator, Map<OperandTypes, OperationInfo<?, ?, ?>>> CACHED_CONVERTED_OPERATIONS
-		= Collections.synchronizedMap(new HashMap<>());
+	// lookups happen on every evaluation of an arithmetic expression with operands of unknown types,
+	// so the caches are lock-free; empty optionals cache non-existing operations
+	private static final Map<Operator, Map<OperandTypes, Optional<OperationInfo<?, ?, ?>>>> CACHED_OPERATIONS
+		= new ConcurrentHashMap<>();
+	private static final Map<Operator, Map<OperandTypes, Optional<OperationInfo<?, ?, ?>>>> CACHED_CONVERTED_OPERATIONS
+		= new ConcurrentHashMap<>();
 
 	private static final Map<Class<?>, DifferenceInfo<?, ?>> DIFFERENCES
 		= Collections.synchronizedMap(new HashMap<>());
-	private static final Map<Class<?>, DifferenceInfo<?, ?>> CACHED_DIFFERENCES
-		= Collections.synchronizedMap(new HashMap<>());
+	private static final Map<Class<?>, Optional<DifferenceInfo<?, ?>>> CACHED_DIFFERENCES
+		= new ConcurrentHashMap<>();
 
 	private static final Map<Class<?>, Supplier<?>> DEFAULT_VALUES
 		= Collections.synchronizedMap(new HashMap<>());
-	private static final Map<Class<?>, Supplier<?>> CACHED_DEFAULT_VALUES
-		= Collections.synchronizedMap(new HashMap<>());
+	private static final Map<Class<?>, Optional<Supplier<?>>> CACHED_DEFAULT_VALUES
+		= new ConcurrentHashMap<>();
 
 	/**
 	 * Registers a binary operation where both left and right operands are of the same type,
@@ -265,14 +268,13 @@ public final class Arithmetics {
 			Class<L> leftClass, Class<R> rightClass) {
 		assertIsOperationsDoneLoading();
 		OperandTypes operandTypes = new OperandTypes(leftClass, rightClass);
-		Map<OperandTypes, OperationInfo<?, ?, ?>> operations = CACHED_OPERATIONS
-			.computeIfAbsent(operator, o -> Collections.synchronizedMap(new HashMap<>()));
-		OperationInfo<L, R, ?> operationInfo = (OperationInfo<L, R, ?>) operations.get(operandTypes);
-		// we also cache null values for non-existing operations
-		if (operations.containsKey(operandTypes))
-			return operationInfo;
+		Map<OperandTypes, Optional<OperationInfo<?, ?, ?>>> operations = CACHED_OPERATIONS
+			.computeIfAbsent(operator, o -> new ConcurrentHashMap<>());
+		Optional<OperationInfo<?, ?, ?>> cached = operations.get(operandTypes);
+		if (cached != null)
+			return (OperationInfo<L, R, ?>) cached.orElse(null);
 
-		operationInfo = (OperationInfo<L, R, ?>) getOperations(operator).stream()
+		OperationInfo<L, R, ?> operationInfo = (OperationInfo<L, R, ?>) getOperations(operator).stream()
 			.filter(info ->
 				info.left().isAssignableFrom(leftClass) && info.right().isAssignableFrom(rightClass))
 			.reduce((info, info2) -> {
@@ -281,7 +283,7 @@ public final class Arithmetics {
 				return info;
 			})
 			.orElse(null);
-		operations.put(operandTypes, operationInfo);
+		operations.put(operandTypes, Optional.ofNullable(operationInfo));
 		return operationInfo;
 	}
 
@@ -359,23 +361,22 @@ public final class Arithmetics {
 			return operationInfo;
 
 		OperandTypes operandTypes = new OperandTypes(leftClass, rightClass);
-		Map<OperandTypes, OperationInfo<?, ?, ?>> operations = CACHED_CONVERTED_OPERATIONS
-			.computeIfAbsent(operator, o -> Collections.synchronizedMap(new HashMap<>()));
-		operationInfo = (OperationInfo<L, R, ?>) operations.get(operandTypes);
-		// we also cache null values for non-existing operations
-		if (operations.containsKey(operandTypes))
-			return operationInfo;
+		Map<OperandTypes, Optional<OperationInfo<?, ?, ?>>> operations = CACHED_CONVERTED_OPERATIONS
+			.computeIfAbsent(operator, o -> new ConcurrentHashMap<>());
+		Optional<OperationInfo<?, ?, ?>> cached = operations.get(operandTypes);
+		if (cached != null)
+			return (OperationInfo<L, R, ?>) cached.orElse(null);
 
 		for (OperationInfo<?, ?, ?> info : getOperations(operator)) {
 			OperationInfo<L, R, ?> convertedInfo = info.getConverted(
 				leftClass, rightClass, info.returnType());
 			if (convertedInfo == null)
 				continue;
-			operations.put(operandTypes, convertedInfo);
+			operations.put(operandTypes, Optional.of(convertedInfo));
 			return convertedInfo;
 		}
 
-		operations.put(operandTypes, null);
+		operations.put(operandTypes, Optional.empty());
 		return null;
 	}
 
@@ -499,14 +500,15 @@ public final class Arithmetics {
 			throw new SkriptAPIException("Differences cannot be retrieved until Skript " +
 				"has finished registrations.");
 		// we also cache null values
-		if (CACHED_DIFFERENCES.containsKey(type))
-			return (DifferenceInfo<T, ?>) CACHED_DIFFERENCES.get(type);
+		Optional<DifferenceInfo<?, ?>> cached = CACHED_DIFFERENCES.get(type);
+		if (cached != null)
+			return (DifferenceInfo<T, ?>) cached.orElse(null);
 
 		DifferenceInfo<T, ?> difference = null;
 
 		if (DIFFERENCES.containsKey(type)) {
 			difference = (DifferenceInfo<T, ?>) DIFFERENCES.get(type);
-			CACHED_DIFFERENCES.put(type, difference);
+			CACHED_DIFFERENCES.put(type, Optional.of(difference));
 			return difference;
 		}
 
@@ -517,7 +519,7 @@ public final class Arithmetics {
 			break;
 		}
 
-		CACHED_DIFFERENCES.put(type, difference);
+		CACHED_DIFFERENCES.put(type, Optional.ofNullable(difference));
 		return difference;
 	}
 
@@ -614,14 +616,15 @@ public final class Arithmetics {
 
 		Supplier<R> supplier = null;
 
-		if (CACHED_DEFAULT_VALUES.containsKey(type)) {
-			supplier = (Supplier<R>) CACHED_DEFAULT_VALUES.get(type);
+		Optional<Supplier<?>> cached = CACHED_DEFAULT_VALUES.get(type);
+		if (cached != null) {
+			supplier = (Supplier<R>) cached.orElse(null);
 			return supplier != null ? supplier.get() : null;
 		}
 
 		if (DEFAULT_VALUES.containsKey(type)) {
 			supplier = (Supplier<R>) DEFAULT_VALUES.get(type);
-			CACHED_DEFAULT_VALUES.put(type, supplier);
+			CACHED_DEFAULT_VALUES.put(type, Optional.of(supplier));
 			return supplier.get();
 		}
 
@@ -631,7 +634,7 @@ public final class Arithmetics {
 			break;
 		}
 
-		CACHED_DEFAULT_VALUES.put(type, supplier);
+		CACHED_DEFAULT_VALUES.put(type, Optional.ofNullable(supplier));
 		return supplier != null ? supplier.get() : null;
 	}
 
@@ -4,7 +4,6 @@ import ch.njol.skript.Skript;
 import ch.njol.skript.SkriptAPIException;
 import ch.njol.skript.registrations.Classes;
 import ch.njol.skript.util.Utils;
-import ch.njol.util.Pair;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 import org.skriptlang.skript.lang.converter.Converter;
@@ -13,9 +12,9 @@ import org.skriptlang.skript.lang.converter.Converters;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Comparators are used to provide Skript with specific instructions for comparing two objects.
@@ -54,11 +53,23 @@ public final class Comparators {
 	}
 
 	/**
-	 * A map for quickly accessing comparators that have already been resolved.
-	 * Some pairs may point to a null value, indicating that no comparator exists between the two types.
+	 * A cache for quickly accessing comparators that have already been resolved, indexed by the first type
+	 *  and then the second type.
+	 * Some pairs may point to {@link #NO_COMPARATOR}, indicating that no comparator exists between the two types.
 	 * This is useful for skipping complex lookups that may require conversion and inversion.
+	 * Looking up a resolved pair neither locks nor allocates.
 	 */
-	private static final Map<Pair<Class<?>, Class<?>>, ComparatorInfo<?, ?>> QUICK_ACCESS_COMPARATORS = new HashMap<>(50);
+	private static final ClassValue<Map<Class<?>, Object>> QUICK_ACCESS_COMPARATORS = new ClassValue<>() {
+		@Override
+		protected Map<Class<?>, Object> computeValue(Class<?> firstType) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	/**
+	 * The value of {@link #QUICK_ACCESS_COMPARATORS} for pairs of types without a comparator.
+	 */
+	private static final Object NO_COMPARATOR = new Object();
 
 	/**
 	 * Registers a new Comparator with Skript's collection of Comparators.
@@ -182,19 +193,17 @@ public final class Comparators {
 	public static <T1, T2> ComparatorInfo<T1, T2> getComparatorInfo(Class<T1> firstType, Class<T2> secondType) {
 		assertIsDoneLoading();
 
-		Pair<Class<?>, Class<?>> pair = new Pair<>(firstType, secondType);
-		ComparatorInfo<T1, T2> comparator;
-
-		synchronized (QUICK_ACCESS_COMPARATORS) {
-			if (QUICK_ACCESS_COMPARATORS.containsKey(pair)) {
-				comparator = (ComparatorInfo<T1, T2>) QUICK_ACCESS_COMPARATORS.get(pair);
-			} else { // Compute QUICK_ACCESS for provided types
-				comparator = getComparatorInfo_i(firstType, secondType);
-				QUICK_ACCESS_COMPARATORS.put(pair, comparator);
-			}
+		Map<Class<?>, Object> quickAccess = QUICK_ACCESS_COMPARATORS.get(firstType);
+		Object cached = quickAccess.get(secondType);
+		if (cached == null) { // Compute QUICK_ACCESS for provided types
+			ComparatorInfo<T1, T2> comparator = getComparatorInfo_i(firstType, secondType);
+			// Another thread may have resolved the same pair meanwhile, keep using the first result
+			cached = quickAccess.putIfAbsent(secondType, comparator == null ? NO_COMPARATOR : comparator);
+			if (cached == null)
+				return comparator;
 		}
 
-		return comparator;
+		return cached == NO_COMPARATOR ? null : (ComparatorInfo<T1, T2>) cached;
 	}
 
 	/**
@@ -2,12 +2,12 @@ package org.skriptlang.skript.lang.converter;
 
 import ch.njol.skript.Skript;
 import ch.njol.skript.SkriptAPIException;
-import ch.njol.util.Pair;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.lang.reflect.Array;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Converters are used to provide Skript with specific instructions for converting an object to a different type.
@@ -35,11 +35,23 @@ public final class Converters {
 	}
 
 	/**
-	 * A map for quickly access converters that have already been resolved.
-	 * Some pairs may point to a null value, indicating that no converter exists between the two types.
+	 * A cache for quickly accessing converters that have already been resolved, indexed by the type to convert from
+	 *  and then the type to convert to.
+	 * Some pairs may point to {@link #NO_CONVERTER}, indicating that no converter exists between the two types.
 	 * This is useful for skipping complex lookups that may require chaining.
+	 * Looking up a resolved pair neither locks nor allocates.
 	 */
-	private static final Map<Pair<Class<?>, Class<?>>, ConverterInfo<?, ?>> QUICK_ACCESS_CONVERTERS = new HashMap<>(50);
+	private static final ClassValue<Map<Class<?>, Object>> QUICK_ACCESS_CONVERTERS = new ClassValue<>() {
+		@Override
+		protected Map<Class<?>, Object> computeValue(Class<?> fromType) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	/**
+	 * The value of {@link #QUICK_ACCESS_CONVERTERS} for pairs of types without a converter.
+	 */
+	private static final Object NO_CONVERTER = new Object();
 
 	/**
 	 * Registers a new Converter with Skript's collection of Converters.
@@ -221,19 +233,17 @@ public final class Converters {
 	public static <F, T> ConverterInfo<F, T> getConverterInfo(Class<F> fromType, Class<T> toType) {
 		assertIsDoneLoading();
 
-		Pair<Class<?>, Class<?>> pair = new Pair<>(fromType, toType);
-		ConverterInfo<F, T> converter;
-
-		synchronized (QUICK_ACCESS_CONVERTERS) {
-			if (QUICK_ACCESS_CONVERTERS.containsKey(pair)) {
-				converter = (ConverterInfo<F, T>) QUICK_ACCESS_CONVERTERS.get(pair);
-			} else { // Compute QUICK_ACCESS for provided types
-				converter = getConverterInfo_i(fromType, toType);
-				QUICK_ACCESS_CONVERTERS.put(pair, converter);
-			}
+		Map<Class<?>, Object> quickAccess = QUICK_ACCESS_CONVERTERS.get(fromType);
+		Object cached = quickAccess.get(toType);
+		if (cached == null) { // Compute QUICK_ACCESS for provided types
+			ConverterInfo<F, T> converter = getConverterInfo_i(fromType, toType);
+			// Another thread may have resolved the same pair meanwhile, keep using the first result
+			cached = quickAccess.putIfAbsent(toType, converter == null ? NO_CONVERTER : converter);
+			if (cached == null)
+				return converter;
 		}
 
-		return converter;
+		return cached == NO_CONVERTER ? null : (ConverterInfo<F, T>) cached;
 	}
 
 	/**
@@ -0,0 +1,84 @@
+package ch.njol.skript.expressions.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.server.ServerCommandEvent;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import ch.njol.skript.lang.parser.ParserInstance;
+
+public class EventValueExpressionSingleTest {
+
+	private static final class TestEvent extends Event {
+
+		@Override
+		public @NotNull HandlerList getHandlers() {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+	@Test
+	public void testOverriddenGet() {
+		// like ExprUnleashReason, this has no event values and provides its value through get(Event)
+		EventValueExpression<String> expression = new EventValueExpression<>(String.class) {
+			@Override
+			protected String[] get(Event event) {
+				return new String[] {"value"};
+			}
+		};
+		assertEquals("value", expression.getSingle(new TestEvent()));
+	}
+
+	@Test
+	public void testInheritedOverriddenGet() {
+		assertEquals("inherited", new InheritingExpression().getSingle(new TestEvent()));
+	}
+
+	@Test
+	public void testNoEventValue() {
+		EventValueExpression<String> expression = new EventValueExpression<>(String.class) {};
+		assertNull(expression.getSingle(new TestEvent()));
+	}
+
+	@Test
+	public void testEventValue() {
+		EventValueExpression<CommandSender> expression = new EventValueExpression<>(CommandSender.class);
+		ParserInstance parser = ParserInstance.get();
+		parser.setCurrentEvent("server command", ServerCommandEvent.class);
+		try {
+			assertTrue(expression.init());
+		} finally {
+			parser.deleteCurrentEvent();
+		}
+
+		CommandSender sender = Bukkit.getConsoleSender();
+		ServerCommandEvent event = new ServerCommandEvent(sender, "test");
+		assertSame(sender, expression.getSingle(event));
+		assertSame(expression.getArray(event)[0], expression.getSingle(event));
+	}
+
+	private static class OverridingExpression extends EventValueExpression<String> {
+
+		OverridingExpression() {
+			super(String.class);
+		}
+
+		@Override
+		protected String[] get(Event event) {
+			return new String[] {"inherited"};
+		}
+
+	}
+
+	private static final class InheritingExpression extends OverridingExpression {}
+
+}
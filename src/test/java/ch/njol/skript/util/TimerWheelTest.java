@@ -0,0 +1,102 @@
+package ch.njol.skript.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class TimerWheelTest {
+
+	private long tick;
+
+	/**
+	 * Advances the wheel tick by tick, so tasks can record the tick they ran in.
+	 */
+	private void advance(TimerWheel wheel, long to) {
+		while (tick < to)
+			wheel.advanceTo(++tick);
+	}
+
+	@Test
+	public void testDelays() {
+		TimerWheel wheel = new TimerWheel();
+		long[] delays = {1, 2, 63, 64, 65, 4095, 4096, 4097, 262143, 262144, 262145, 16777215, 16777216, 16777217, 20000000};
+		Map<Long, Long> ranAt = new HashMap<>();
+		for (long delay : delays)
+			wheel.submit(() -> ranAt.put(delay, tick), delay);
+		assertEquals(delays.length, wheel.getPendingCount());
+
+		advance(wheel, 20000001);
+		for (long delay : delays)
+			assertEquals("task with a delay of " + delay + " ticks ran in the wrong tick", (Long) delay, ranAt.get(delay));
+		assertEquals(0, wheel.getPendingCount());
+	}
+
+	@Test
+	public void testSameTickOrder() {
+		TimerWheel wheel = new TimerWheel();
+		List<String> order = new ArrayList<>();
+		// starts on a higher level and is moved down to the tick's slot after the others were added to it
+		wheel.submit(() -> order.add("a"), 100);
+		advance(wheel, 50);
+		wheel.submit(() -> order.add("b"), 100);
+		wheel.submit(() -> order.add("c"), 100);
+		advance(wheel, 99);
+		wheel.submit(() -> order.add("d"), 100);
+		advance(wheel, 100);
+		assertEquals(List.of("a", "b", "c", "d"), order);
+	}
+
+	@Test
+	public void testScheduleFromTask() {
+		TimerWheel wheel = new TimerWheel();
+		Map<String, Long> ranAt = new HashMap<>();
+		wheel.submit(() -> {
+			ranAt.put("outer", tick);
+			wheel.submit(() -> ranAt.put("next", tick), tick + 1);
+			wheel.submit(() -> ranAt.put("later", tick), tick + 64);
+			// a task can't run in the tick it was scheduled in by a running task
+			wheel.submit(() -> ranAt.put("now", tick), tick);
+		}, 10);
+		advance(wheel, 100);
+		assertEquals((Long) 10L, ranAt.get("outer"));
+		assertEquals((Long) 11L, ranAt.get("next"));
+		assertEquals((Long) 11L, ranAt.get("now"));
+		assertEquals((Long) 74L, ranAt.get("later"));
+	}
+
+	@Test
+	public void testCatchUp() {
+		TimerWheel wheel = new TimerWheel();
+		List<Integer> order = new ArrayList<>();
+		wheel.submit(() -> order.add(5000), 5000);
+		wheel.submit(() -> order.add(5), 5);
+		wheel.submit(() -> order.add(70), 70);
+		wheel.advanceTo(1);
+		// skips many ticks at once, like after a lag spike
+		wheel.advanceTo(10000);
+		assertEquals(List.of(5, 70, 5000), order);
+		assertEquals(0, wheel.getPendingCount());
+
+		// tasks that are already due run in the next tick
+		wheel.submit(() -> order.add(1), 1);
+		wheel.advanceTo(10001);
+		assertEquals(List.of(5, 70, 5000, 1), order);
+	}
+
+	@Test
+	public void testTickGoingBackwards() {
+		TimerWheel wheel = new TimerWheel();
+		List<Integer> ran = new ArrayList<>();
+		wheel.advanceTo(100);
+		wheel.submit(() -> ran.add(101), 101);
+		wheel.advanceTo(50);
+		assertEquals(List.of(101), ran);
+		assertEquals(0, wheel.getPendingCount());
+	}
+
+}
@@ -0,0 +1,111 @@
+package ch.njol.skript.variables;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import ch.njol.skript.variables.BinaryStorage.RecordReader;
+import ch.njol.skript.variables.BinaryStorage.RecordVisitor;
+import ch.njol.skript.variables.BinaryStorage.RecordWriter;
+
+public class BinaryStorageTest {
+
+	@Test
+	public void testVarInt() throws IOException {
+		int[] values = {0, 1, 0x7F, 0x80, 0x3FFF, 0x4000, 123456789, Integer.MAX_VALUE};
+		for (int value : values) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			BinaryStorage.writeVarInt(out, value);
+			assertEquals(value, BinaryStorage.readVarInt(ByteBuffer.wrap(out.toByteArray())));
+
+			ByteBuffer buffer = ByteBuffer.allocate(5);
+			BinaryStorage.putVarInt(buffer, value);
+			assertArrayEquals(out.toByteArray(), Arrays.copyOf(buffer.array(), buffer.position()));
+		}
+	}
+
+	@Test
+	public void testRecords() throws IOException {
+		Path path = Files.createTempFile("variables", ".bin");
+		try {
+			try (RecordWriter writer = RecordWriter.create(path)) {
+				writer.writeVariable("a", "string", new byte[] {1, 2, 3});
+				writer.writeVariable("list::1", "number", new byte[] {4});
+				writer.writeVariable("list::2", "number", new byte[0]);
+				writer.writeVariable("a", null, null);
+			}
+			Map<String, Integer> strings;
+			try (RecordReader reader = new RecordReader(path)) {
+				assertTrue(reader.read(new Collector()));
+				strings = reader.getStringTable();
+			}
+
+			// append to the file, reusing its string table
+			try (RecordWriter writer = RecordWriter.append(path, strings)) {
+				writer.writeVariable("list::3", "number", new byte[] {5, 6});
+				writer.writeVariable("a", "string", new byte[] {7});
+			}
+
+			Collector collector = new Collector();
+			try (RecordReader reader = new RecordReader(path)) {
+				assertTrue(reader.read(collector));
+				assertEquals(strings.size(), reader.getStringTable().size());
+			}
+			assertEquals(4, collector.variables.size());
+			assertArrayEquals(new byte[] {7}, collector.variables.get("a"));
+			assertArrayEquals(new byte[] {4}, collector.variables.get("list::1"));
+			assertArrayEquals(new byte[0], collector.variables.get("list::2"));
+			assertArrayEquals(new byte[] {5, 6}, collector.variables.get("list::3"));
+			assertEquals("number", collector.types.get("list::3"));
+
+			// an incomplete record at the end is ignored
+			long length = Files.size(path);
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+				channel.truncate(length - 1);
+			}
+			collector = new Collector();
+			try (RecordReader reader = new RecordReader(path)) {
+				assertFalse(reader.read(collector));
+				assertTrue(reader.getValidLength() < length - 1);
+			}
+			assertArrayEquals(new byte[] {5, 6}, collector.variables.get("list::3"));
+			assertFalse(collector.variables.containsKey("a"));
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	private static final class Collector implements RecordVisitor {
+
+		final Map<String, byte[]> variables = new LinkedHashMap<>();
+		final Map<String, String> types = new LinkedHashMap<>();
+
+		@Override
+		public void variable(String name, String type, byte[] data) {
+			variables.put(name, data);
+			types.put(name, type);
+		}
+
+		@Override
+		public void deletion(String name) {
+			variables.remove(name);
+			types.remove(name);
+		}
+
+	}
+
+}
@@ -0,0 +1,299 @@
+package ch.njol.skript.variables;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.Objects;
+
+import org.jetbrains.annotations.Nullable;
+import org.junit.Test;
+
+import ch.njol.yggdrasil.Fields;
+import ch.njol.yggdrasil.Yggdrasil;
+import ch.njol.yggdrasil.YggdrasilID;
+import ch.njol.yggdrasil.YggdrasilInputStream;
+import ch.njol.yggdrasil.YggdrasilOutputStream;
+import ch.njol.yggdrasil.YggdrasilSerializable;
+import ch.njol.yggdrasil.YggdrasilSerializer;
+
+/**
+ * Checks that Yggdrasil, which stores variable values, writes the same bytes through its cached field accessors
+ * as when reading the fields through reflection, and that the written objects are read back unchanged.
+ */
+public class YggdrasilFieldsTest {
+
+	static class Primitives implements YggdrasilSerializable {
+
+		boolean bool;
+		byte small;
+		short medium;
+		char letter;
+		int number;
+		long big;
+		float ratio;
+		double precise;
+		@Nullable Integer boxed;
+		@Nullable String text;
+		transient int skipped;
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Primitives other && bool == other.bool && small == other.small && medium == other.medium
+				&& letter == other.letter && number == other.number && big == other.big && ratio == other.ratio
+				&& precise == other.precise && Objects.equals(boxed, other.boxed) && Objects.equals(text, other.text);
+		}
+
+		@Override
+		public int hashCode() {
+			return number;
+		}
+
+	}
+
+	static class Finals implements YggdrasilSerializable {
+
+		private final int count;
+		@YggdrasilID("title")
+		private final String name;
+
+		Finals() {
+			this(0, "");
+		}
+
+		Finals(int count, String name) {
+			this.count = count;
+			this.name = name;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj != null && obj.getClass() == getClass() && count == ((Finals) obj).count && name.equals(((Finals) obj).name);
+		}
+
+		@Override
+		public int hashCode() {
+			return count;
+		}
+
+	}
+
+	static class Child extends Finals {
+
+		double weight;
+		@Nullable Finals sibling;
+
+		Child() { }
+
+		Child(int count, String name, double weight, Finals sibling) {
+			super(count, name);
+			this.weight = weight;
+			this.sibling = sibling;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return super.equals(obj) && weight == ((Child) obj).weight && Objects.equals(sibling, ((Child) obj).sibling);
+		}
+
+		@Override
+		public int hashCode() {
+			return super.hashCode();
+		}
+
+	}
+
+	record Point(int x, long y, String label) { }
+
+	/**
+	 * Serializes records, which can't be instantiated without their components,
+	 * either through the cached field accessors or through reflection.
+	 */
+	private static final class PointSerializer extends YggdrasilSerializer<Point> {
+
+		private final boolean reflection;
+
+		PointSerializer(boolean reflection) {
+			this.reflection = reflection;
+		}
+
+		@Override
+		public @Nullable Class<? extends Point> getClass(String id) {
+			return id.equals("point") ? Point.class : null;
+		}
+
+		@Override
+		public @Nullable String getID(Class<?> type) {
+			return type == Point.class ? "point" : null;
+		}
+
+		@Override
+		public Fields serialize(Point point) throws NotSerializableException {
+			return reflection ? reflect(point) : new Fields(point);
+		}
+
+		@Override
+		public boolean canBeInstantiated(Class<? extends Point> type) {
+			return false;
+		}
+
+		@Override
+		public <E extends Point> @Nullable E newInstance(Class<E> type) {
+			return null;
+		}
+
+		@Override
+		public void deserialize(Point point, Fields fields) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <E extends Point> E deserialize(Class<E> type, Fields fields) throws StreamCorruptedException {
+			return (E) new Point(fields.getPrimitive("x", int.class), fields.getPrimitive("y", long.class),
+				fields.getObject("label", String.class));
+		}
+
+	}
+
+	/**
+	 * Serializes the test classes by reading their fields through reflection, like Yggdrasil used to.
+	 */
+	private static final class ReflectionSerializer extends YggdrasilSerializer<Object> {
+
+		private static final Map<String, Class<?>> CLASSES = Map.of("primitives", Primitives.class, "finals", Finals.class, "child", Child.class);
+
+		@Override
+		public @Nullable Class<?> getClass(String id) {
+			return CLASSES.get(id);
+		}
+
+		@Override
+		public @Nullable String getID(Class<?> type) {
+			for (Map.Entry<String, Class<?>> entry : CLASSES.entrySet()) {
+				if (entry.getValue() == type)
+					return entry.getKey();
+			}
+			return null;
+		}
+
+		@Override
+		public Fields serialize(Object object) throws NotSerializableException {
+			return reflect(object);
+		}
+
+		@Override
+		public <E> E newInstance(Class<E> type) {
+			try {
+				Constructor<E> constructor = type.getDeclaredConstructor();
+				constructor.setAccessible(true);
+				return constructor.newInstance();
+			} catch (ReflectiveOperationException e) {
+				throw new AssertionError(e);
+			}
+		}
+
+		@Override
+		public void deserialize(Object object, Fields fields) throws StreamCorruptedException, NotSerializableException {
+			fields.setFields(object);
+		}
+
+	}
+
+	private static Fields reflect(Object object) throws NotSerializableException {
+		Fields fields = new Fields();
+		for (Field field : Fields.getFields(object.getClass())) {
+			Object value;
+			try {
+				value = field.get(object);
+			} catch (IllegalAccessException e) {
+				throw new AssertionError(e);
+			}
+			if (field.getType().isPrimitive()) {
+				fields.putPrimitive(Yggdrasil.getID(field), value);
+			} else {
+				fields.putObject(Yggdrasil.getID(field), value);
+			}
+		}
+		return fields;
+	}
+
+	private static Yggdrasil accessorYggdrasil() {
+		Yggdrasil yggdrasil = new Yggdrasil();
+		yggdrasil.registerSingleClass(Primitives.class, "primitives");
+		yggdrasil.registerSingleClass(Finals.class, "finals");
+		yggdrasil.registerSingleClass(Child.class, "child");
+		yggdrasil.registerClassResolver(new PointSerializer(false));
+		return yggdrasil;
+	}
+
+	private static Yggdrasil reflectionYggdrasil() {
+		Yggdrasil yggdrasil = new Yggdrasil();
+		yggdrasil.registerClassResolver(new ReflectionSerializer());
+		yggdrasil.registerClassResolver(new PointSerializer(true));
+		return yggdrasil;
+	}
+
+	private static byte[] serialize(Yggdrasil yggdrasil, Object object) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (YggdrasilOutputStream yout = yggdrasil.newOutputStream(out)) {
+			yout.writeObject(object);
+			yout.flush();
+		}
+		return out.toByteArray();
+	}
+
+	private static Object deserialize(Yggdrasil yggdrasil, byte[] bytes) throws IOException {
+		try (YggdrasilInputStream yin = yggdrasil.newInputStream(new ByteArrayInputStream(bytes))) {
+			return yin.readObject();
+		}
+	}
+
+	private static void assertRoundTrip(Object object) throws IOException {
+		Yggdrasil accessors = accessorYggdrasil();
+		byte[] bytes = serialize(accessors, object);
+		assertArrayEquals("accessors and reflection wrote different bytes for " + object.getClass().getSimpleName(),
+			serialize(reflectionYggdrasil(), object), bytes);
+		assertEquals(object, deserialize(accessors, bytes));
+	}
+
+	@Test
+	public void testPrimitiveFields() throws IOException {
+		Primitives primitives = new Primitives();
+		primitives.bool = true;
+		primitives.small = -7;
+		primitives.medium = 1234;
+		primitives.letter = 'ß';
+		primitives.number = Integer.MIN_VALUE;
+		primitives.big = Long.MAX_VALUE;
+		primitives.ratio = 0.25f;
+		primitives.precise = -Math.PI;
+		primitives.boxed = 42;
+		primitives.text = "text";
+		primitives.skipped = 5;
+		assertRoundTrip(primitives);
+
+		// unset object fields
+		assertRoundTrip(new Primitives());
+	}
+
+	@Test
+	public void testFinalFields() throws IOException {
+		assertRoundTrip(new Finals(3, "three"));
+		// inherited final fields and a nested object
+		assertRoundTrip(new Child(4, "four", 4.5, new Finals(5, "five")));
+	}
+
+	@Test
+	public void testRecordFields() throws IOException {
+		assertRoundTrip(new Point(-1, 1L << 40, "origin"));
+	}
+
+}